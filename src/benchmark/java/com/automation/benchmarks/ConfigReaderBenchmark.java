@@ -0,0 +1,72 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.config.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of configuration lookups, which sit on every page construction and wait
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReaderBenchmark {
+
+    @Benchmark
+    public String typedStringGetter() {
+        return ConfigReader.getBrowser();
+    }
+
+    @Benchmark
+    public int typedIntGetter() {
+        return ConfigReader.getExplicitWait();
+    }
+
+    @Benchmark
+    public String rawPropertyLookup() {
+        return ConfigReader.getProperty("base.url");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int typedIntGetterContended() {
+        return ConfigReader.getExplicitWait();
+    }
+
+    @Benchmark
+    public String typedGetterWithThreadOverrides(ThreadOverrides overrides) {
+        return ConfigReader.getBrowser();
+    }
+
+    /**
+     * Applies per-thread overrides, as a worker running another browser would
+     */
+    @State(Scope.Thread)
+    public static class ThreadOverrides {
+
+        @Setup
+        public void setUp() {
+            ConfigReader.setThreadOverrides(Collections.singletonMap("browser", "firefox"));
+        }
+
+        @TearDown
+        public void tearDown() {
+            ConfigReader.clearThreadOverrides();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.base.PageRegistry;
+import com.automation.pages.GoogleHomePage;
+import com.automation.pages.GoogleResultsPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building page objects: BasePage construction runs PageFactory.initElements
+ * with the caching field decorator and creates the explicit wait
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageObjectBenchmark {
+
+    private StubWebDriver driver;
+
+    @Setup
+    public void setUp() {
+        driver = new StubWebDriver(false);
+    }
+
+    @Benchmark
+    public GoogleHomePage constructHomePage() {
+        return new GoogleHomePage(driver);
+    }
+
+    @Benchmark
+    public GoogleResultsPage constructResultsPage() {
+        return new GoogleResultsPage(driver);
+    }
+
+    @Benchmark
+    public GoogleHomePage registryLookup() {
+        return PageRegistry.getPage(driver, GoogleHomePage.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.config.ConfigReader;
+import com.automation.framework.reports.ReportManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cost of report housekeeping on a directory holding thousands of reports
+ * Listing and counting read the report index; after the first cleanup has archived the excess reports,
+ * cleanupOldReports measures the steady-state pass over the index
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportManagerBenchmark {
+
+    private static final int RETENTION = 10;
+
+    @Param({"1000", "5000"})
+    public int reportCount;
+
+    private Path reportDir;
+
+    @Setup(Level.Trial)
+    public void createReports() throws IOException {
+        reportDir = Files.createTempDirectory("report-benchmark");
+        for (int i = 0; i < reportCount; i++) {
+            Files.createFile(reportDir.resolve(String.format("ExtentReport_2024-01-01_%06d.html", i)));
+        }
+
+        // State setup runs on the benchmark thread, so the override applies to the benchmark
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("extent.report.path", reportDir.toString());
+        overrides.put("extent.report.retention.count", String.valueOf(RETENTION));
+        ConfigReader.setThreadOverrides(overrides);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteReports() throws IOException {
+        ConfigReader.clearThreadOverrides();
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(reportDir)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    public List<String> listAllReports() {
+        return ReportManager.listAllReports();
+    }
+
+    @Benchmark
+    public int getReportCount() {
+        return ReportManager.getReportCount();
+    }
+
+    @Benchmark
+    public void cleanupOldReports() {
+        ReportManager.cleanupOldReports();
+    }
+}
@@ -0,0 +1,79 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.reports.ExtentReportManager;
+import com.automation.framework.reports.ReportEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of ExtentReportManager logging from many scenario threads at once
+ * - inMemoryTree: outside a scenario, logs go to the shared ExtentReports tree
+ * - eventBus: inside a scenario, logs are published to the ReportEventBus and streamed to disk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dreport.events.path=target/benchmarks/events")
+@Threads(8)
+public class ReportingBenchmark {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Benchmark
+    public void inMemoryTree(ExtentTestState state) {
+        ExtentReportManager.info("Step executed on the stub driver");
+    }
+
+    @Benchmark
+    public void eventBus(ScenarioState state) {
+        ExtentReportManager.info("Step executed on the stub driver");
+    }
+
+    /**
+     * A legacy Extent test per thread
+     */
+    @State(Scope.Thread)
+    public static class ExtentTestState {
+
+        @Setup
+        public void setUp() {
+            ExtentReportManager.createTest("benchmark-" + SEQUENCE.incrementAndGet());
+        }
+
+        @TearDown
+        public void tearDown() {
+            ExtentReportManager.removeTest();
+        }
+    }
+
+    /**
+     * A running scenario per thread
+     */
+    @State(Scope.Thread)
+    public static class ScenarioState {
+
+        @Setup
+        public void setUp() {
+            ReportEventBus.setCurrentScenario("benchmark-" + SEQUENCE.incrementAndGet());
+        }
+
+        @TearDown
+        public void tearDown() {
+            ReportEventBus.setCurrentScenario(null);
+        }
+    }
+}
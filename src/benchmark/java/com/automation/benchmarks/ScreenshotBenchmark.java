@@ -0,0 +1,64 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.utils.ScreenshotPipeline;
+import com.automation.framework.utils.ScreenshotUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of screenshots
+ * - onTestThread: what a scenario pays (capture, hash, queue)
+ * - toDisk: capture through encoding and writing the file
+ * - duplicate: an identical frame, which is never written twice
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dscreenshot.path=target/benchmarks/screenshots")
+@State(Scope.Thread)
+public class ScreenshotBenchmark {
+
+    private StubWebDriver uniqueFrames;
+    private StubWebDriver sameFrame;
+
+    @Setup
+    public void setUp() {
+        uniqueFrames = new StubWebDriver(true);
+        sameFrame = new StubWebDriver(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        ScreenshotPipeline.awaitPending(120);
+    }
+
+    @Benchmark
+    public String onTestThread() {
+        return ScreenshotUtil.captureScreenshot(uniqueFrames);
+    }
+
+    @Benchmark
+    public String toDisk() {
+        String path = ScreenshotUtil.captureScreenshot(uniqueFrames);
+        ScreenshotPipeline.awaitPending(60);
+        return path;
+    }
+
+    @Benchmark
+    public String duplicate() {
+        return ScreenshotUtil.captureScreenshot(sameFrame);
+    }
+}
@@ -0,0 +1,341 @@
+package com.automation.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.logging.Logs;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process WebDriver that answers every command immediately
+ * Benchmarks run against it so they measure the framework's own overhead, not a browser
+ * - Elements are always present, and become displayed after a configurable number of checks
+ * - Async scripts (event-driven waits) return at once as if the DOM had changed
+ * - Screenshots are a fixed PNG with a unique trailer, so every capture hashes differently
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+    private static final byte[] SCREENSHOT = renderScreenshot();
+
+    private final AtomicLong captures = new AtomicLong();
+    private final boolean uniqueScreenshots;
+    private int checksUntilDisplayed;
+
+    /**
+     * @param uniqueScreenshots Whether each capture differs (defeats screenshot de-duplication)
+     */
+    public StubWebDriver(boolean uniqueScreenshots) {
+        this.uniqueScreenshots = uniqueScreenshots;
+    }
+
+    /**
+     * Makes elements report not displayed for the given number of checks
+     */
+    public void setChecksUntilDisplayed(int checks) {
+        this.checksUntilDisplayed = checks;
+    }
+
+    private boolean nextDisplayedCheck() {
+        if (checksUntilDisplayed > 0) {
+            checksUntilDisplayed--;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Stub";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.singletonList(new StubWebElement());
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return new StubWebElement();
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate");
+    }
+
+    @Override
+    public Options manage() {
+        return new StubOptions();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return script.contains("readyState") ? "complete" : null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return "mutation";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        if (!uniqueScreenshots) {
+            return target.convertFromPngBytes(SCREENSHOT);
+        }
+        // Bytes after the IEND chunk are ignored by PNG decoders but change the hash
+        byte[] png = new byte[SCREENSHOT.length + Long.BYTES];
+        System.arraycopy(SCREENSHOT, 0, png, 0, SCREENSHOT.length);
+        ByteBuffer.wrap(png, SCREENSHOT.length, Long.BYTES).putLong(captures.incrementAndGet());
+        return target.convertFromPngBytes(png);
+    }
+
+    private static byte[] renderScreenshot() {
+        BufferedImage image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1920, 1080);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 40; y < 1080; y += 40) {
+            graphics.drawString("Search result line " + y + " - lorem ipsum dolor sit amet", 40, y);
+        }
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Element that is always enabled and answers every call immediately
+     */
+    private class StubWebElement implements WebElement {
+
+        @Override
+        public void click() {
+        }
+
+        @Override
+        public void submit() {
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public String getTagName() {
+            return "div";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return "Stub result";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return Collections.singletonList(new StubWebElement());
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return new StubWebElement();
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return nextDisplayedCheck();
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(100, 20);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(0, 0, 20, 100);
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return StubWebDriver.this.getScreenshotAs(target);
+        }
+    }
+
+    /**
+     * Options accepting any timeout and holding no cookies
+     */
+    private static class StubOptions implements Options {
+
+        @Override
+        public void addCookie(Cookie cookie) {
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+        }
+
+        @Override
+        public void deleteAllCookies() {
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return null;
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new StubTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            throw new UnsupportedOperationException("window");
+        }
+
+        @Override
+        public Logs logs() {
+            throw new UnsupportedOperationException("logs");
+        }
+    }
+
+    /**
+     * Timeouts that are accepted and ignored
+     */
+    private static class StubTimeouts implements Timeouts {
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts implicitlyWait(long time, java.util.concurrent.TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts setScriptTimeout(long time, java.util.concurrent.TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts pageLoadTimeout(long time, java.util.concurrent.TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.base.DriverFactory;
+import com.automation.framework.base.DriverManager;
+import com.automation.framework.scheduling.ScenarioThreads;
+import com.automation.framework.utils.VirtualThreads;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent scenarios on platform threads against virtual threads
+ * Each scenario opens a session through DriverManager, runs a few commands and quits; the stub driver
+ * sleeps for every call to stand in for the browser round-trip, so the threads spend their time blocked
+ * - platform: one pooled platform thread per concurrent session (as TestNG's parallel data provider does)
+ * - virtual: one virtual thread per scenario through ScenarioThreads, as BaseCucumberRunner does with
+ *   threads.virtual (needs Java 21, run with -Pjava21,benchmarks)
+ * Peak live platform threads and resident memory are printed after each iteration
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final long SESSION_START_MILLIS = 50;
+    private static final long COMMAND_MILLIS = 10;
+    private static final int COMMANDS_PER_SCENARIO = 5;
+
+    @Param({"10", "50", "200"})
+    public int sessions;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ExecutorService platformExecutor;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Worker threads read the shared configuration, so these must be set before it loads
+        System.setProperty("driver.factory", LatencyDriverFactory.class.getName());
+        System.setProperty("metrics.enabled", "false");
+        System.setProperty("threads.virtual", String.valueOf(threads.equals("virtual")));
+
+        if (threads.equals("platform")) {
+            platformExecutor = Executors.newFixedThreadPool(sessions, VirtualThreads.platformFactory("scenario"));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak() {
+        threadBean.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printFootprint() {
+        System.out.println("  [" + threads + ", " + sessions + " sessions] peak live threads: " +
+            threadBean.getPeakThreadCount() + ", RSS: " + residentMegabytes() + " MB");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (platformExecutor != null) {
+            platformExecutor.shutdown();
+            platformExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    public int concurrentScenarios() throws InterruptedException, ExecutionException {
+        if (threads.equals("virtual")) {
+            AtomicInteger commands = new AtomicInteger();
+            List<Runnable> scenarios = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                scenarios.add(() -> commands.addAndGet(runScenario()));
+            }
+            List<Throwable> failures = ScenarioThreads.runAll(scenarios, sessions);
+            if (!failures.isEmpty()) {
+                throw new ExecutionException(failures.get(0));
+            }
+            return commands.get();
+        }
+
+        List<Future<Integer>> running = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            running.add(platformExecutor.submit(VirtualThreadBenchmark::runScenario));
+        }
+        int commands = 0;
+        for (Future<Integer> scenario : running) {
+            commands += scenario.get();
+        }
+        return commands;
+    }
+
+    private static int runScenario() {
+        DriverManager.initializeDriver("chrome", false);
+        try {
+            WebDriver driver = DriverManager.getDriver();
+            driver.get("https://example.com");
+            int commands = 1;
+            for (int i = 1; i < COMMANDS_PER_SCENARIO; i++) {
+                WebElement element = driver.findElement(By.id("result"));
+                commands += element != null ? 1 : 0;
+            }
+            return commands;
+        } finally {
+            DriverManager.quitDriver();
+        }
+    }
+
+    /**
+     * Resident set size from /proc (Linux), or -1 where it is not available
+     */
+    private static long residentMegabytes() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // Not Linux
+        }
+        return -1;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Factory selected through driver.factory; session start and every navigation or lookup block
+     * like a remote round-trip
+     */
+    public static class LatencyDriverFactory implements DriverFactory {
+
+        @Override
+        public WebDriver createDriver(String browser) {
+            pause(SESSION_START_MILLIS);
+            return new StubWebDriver(false) {
+                @Override
+                public void get(String url) {
+                    pause(COMMAND_MILLIS);
+                }
+
+                @Override
+                public WebElement findElement(By by) {
+                    pause(COMMAND_MILLIS);
+                    return super.findElement(by);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.automation.benchmarks;
+
+import com.automation.framework.utils.EventDrivenWait;
+import com.automation.framework.utils.WaitUtil;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Wait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating waits and of waiting for an element
+ * - Immediate: the condition holds on the first check (pure framework overhead)
+ * - AfterOneChange: the condition holds on the second check, which shows the
+ *   polling interval of WebDriverWait against the event-driven re-check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WaitBenchmark {
+
+    private StubWebDriver driver;
+    private WebElement element;
+
+    @Setup
+    public void setUp() {
+        driver = new StubWebDriver(false);
+        element = driver.findElement(By.id("result"));
+    }
+
+    @Benchmark
+    public Wait<WebDriver> newConfiguredWait() {
+        return WaitUtil.newWait(driver, 10);
+    }
+
+    @Benchmark
+    public WebElement pollingWaitImmediate() {
+        return new WebDriverWait(driver, Duration.ofSeconds(10)).until(ExpectedConditions.visibilityOf(element));
+    }
+
+    @Benchmark
+    public WebElement eventWaitImmediate() {
+        return new EventDrivenWait(driver, Duration.ofSeconds(10), 500).until(ExpectedConditions.visibilityOf(element));
+    }
+
+    @Benchmark
+    public WebElement pollingWaitAfterOneChange() {
+        driver.setChecksUntilDisplayed(1);
+        return new WebDriverWait(driver, Duration.ofSeconds(10)).until(ExpectedConditions.visibilityOf(element));
+    }
+
+    @Benchmark
+    public WebElement eventWaitAfterOneChange() {
+        driver.setChecksUntilDisplayed(1);
+        return new EventDrivenWait(driver, Duration.ofSeconds(10), 500).until(ExpectedConditions.visibilityOf(element));
+    }
+}
@@ -0,0 +1,114 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import com.automation.framework.scheduling.ScenarioRerun;
+import com.automation.framework.scheduling.ScenarioScheduler;
+import com.automation.framework.scheduling.ScenarioSharding;
+import com.automation.framework.scheduling.ScenarioThreads;
+import com.automation.framework.utils.VirtualThreads;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for the TestNG Cucumber runners
+ * - Runs scenarios in parallel (thread count set by ParallelExecutionListener, 1 when parallel.enabled is false)
+ * - With threads.virtual on Java 21, runs them on virtual threads instead of TestNG's pool (ScenarioThreads)
+ * - Runs only this JVM's shard of the scenarios when shard.total is above 1 (ScenarioSharding)
+ * - Hands scenarios out longest first, based on their durations in previous runs (ScenarioScheduler)
+ * - Reruns failed scenarios after the main pass, in the same JVM (ScenarioRerun)
+ * Runners only add their @CucumberOptions
+ */
+public abstract class BaseCucumberRunner extends AbstractTestNGCucumberTests {
+
+    /**
+     * Runs a scenario in the main pass
+     * A failure is queued for a rerun and reported as skipped while rerun.max.retries is above 0
+     */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        ScenarioRerun.firstAttempt(getClass(), pickleWrapper, featureWrapper,
+            () -> super.runScenario(pickleWrapper, featureWrapper));
+    }
+
+    /**
+     * Runs the main pass on virtual threads, one per scenario, as a single TestNG test
+     * Only invoked with threads.virtual on Java 21; scenario results are still reported per scenario
+     * by the Cucumber plugins, and failures queued for a rerun do not fail this test
+     * @param scenarios Data provider rows ({PickleWrapper, FeatureWrapper}) in scheduling order
+     */
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios on virtual threads",
+        dataProvider = "virtualThreadScenarios")
+    public void runScenariosOnVirtualThreads(Object[][] scenarios) throws InterruptedException {
+        List<Runnable> tasks = new ArrayList<>(scenarios.length);
+        for (Object[] row : scenarios) {
+            PickleWrapper pickleWrapper = (PickleWrapper) row[0];
+            FeatureWrapper featureWrapper = (FeatureWrapper) row[1];
+            tasks.add(() -> ScenarioRerun.firstAttempt(getClass(), pickleWrapper, featureWrapper,
+                () -> super.runScenario(pickleWrapper, featureWrapper)));
+        }
+
+        int threadCount = ConfigReader.isParallelEnabled() ? ConfigReader.getParallelThreadCount() : 1;
+        List<Throwable> failures = new ArrayList<>();
+        for (Throwable failure : ScenarioThreads.runAll(tasks, threadCount)) {
+            if (!(failure instanceof SkipException)) {
+                failures.add(failure);
+            }
+        }
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(failures.size() + " of " + scenarios.length +
+                " scenario(s) failed, first: " + failures.get(0), failures.get(0));
+            failures.stream().skip(1).forEach(error::addSuppressed);
+            throw error;
+        }
+    }
+
+    /**
+     * Reruns a scenario that failed in the main pass
+     */
+    @Test(groups = "cucumber", description = "Reruns failed Cucumber Scenarios", dataProvider = "failedScenarios",
+        dependsOnMethods = {"runScenario", "runScenariosOnVirtualThreads"}, alwaysRun = true)
+    public void rerunScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        ScenarioRerun.rerun(pickleWrapper, () -> super.runScenario(pickleWrapper, featureWrapper));
+    }
+
+    /**
+     * Enables running this shard's scenarios in parallel, longest first
+     * Empty when they run on virtual threads (virtualThreadScenarios)
+     */
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        if (VirtualThreads.isEnabled()) {
+            return new Object[0][];
+        }
+        return ScenarioScheduler.schedule(ScenarioSharding.select(super.scenarios()));
+    }
+
+    /**
+     * This shard's scenarios, longest first, as a single row when they run on virtual threads
+     * Empty otherwise, so runScenariosOnVirtualThreads is not invoked
+     */
+    @DataProvider
+    public Object[][] virtualThreadScenarios() {
+        if (!VirtualThreads.isEnabled()) {
+            return new Object[0][];
+        }
+        return new Object[][] {{ScenarioScheduler.schedule(ScenarioSharding.select(super.scenarios()))}};
+    }
+
+    /**
+     * Scenarios of this runner that failed in the main pass, rerun in parallel as well
+     */
+    @DataProvider(parallel = true)
+    public Object[][] failedScenarios() {
+        return ScenarioRerun.failedScenarios(getClass());
+    }
+}
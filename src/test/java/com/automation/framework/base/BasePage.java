@@ -1,35 +1,42 @@
 package com.automation.framework.base;
 
 import com.automation.framework.config.ConfigReader;
+import com.automation.framework.utils.WaitUtil;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.Wait;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Base class for all Page Objects
  * Contains common methods and utilities for pages
+ * Obtain instances through PageRegistry.getPage so they are reused per driver
  */
 public class BasePage {
     
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected Wait<WebDriver> wait;
+    private final PageRegistry registry;
     
     /**
-     * Constructor that initializes PageFactory and WebDriverWait
-     * Explicit wait timeout is loaded from config.properties
+     * Constructor that initializes PageFactory and the explicit wait
+     * Explicit wait timeout and strategy are loaded from config.properties
+     * Element fields are caching, staleness-aware proxies (see CachingFieldDecorator)
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
+        this.registry = PageRegistry.forDriver(driver);
         int explicitWait = ConfigReader.getExplicitWait();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
-        PageFactory.initElements(driver, this);
+        this.wait = WaitUtil.newWait(driver, explicitWait);
+        PageFactory.initElements(new CachingFieldDecorator(driver, registry), this);
     }
     
     /**
@@ -50,7 +57,7 @@ public class BasePage {
      * Different click retries
      */
     protected void clickWhenClickable(WebElement element) {
-        new WebDriverWait(driver, Duration.ofSeconds(5))
+        WaitUtil.newWait(driver, 5)
                 .until(ExpectedConditions.elementToBeClickable(element))
                 .click();
     }
@@ -97,11 +104,30 @@ public class BasePage {
         return element.getText();
     }
     
+    /**
+     * Reads properties of every element matching a locator in one browser round-trip
+     * @param locator Element locator
+     * @param fields Properties to read (text, visibility, bounding box)
+     * @param attributes Attribute names to read
+     */
+    protected List<ElementData> extractElements(By locator, Set<BulkElementReader.Field> fields, String... attributes) {
+        return BulkElementReader.read(driver, locator, fields, attributes);
+    }
+    
+    /**
+     * Reads the title, URL and the elements a spec declares in one browser round-trip
+     * The snapshot shows the page at the time it was taken, see PageSnapshot.isStale
+     */
+    protected PageSnapshot takeSnapshot(PageSnapshot.Spec spec) {
+        return PageSnapshot.take(driver, registry, spec);
+    }
+    
     /**
      * Navigates to a URL
      */
     protected void navigateToUrl(String url) {
         driver.get(url);
+        registry.onNavigation();
     }
     
     /**
@@ -0,0 +1,132 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Isolated browser context (own cookies, storage and cache) inside a shared browser process
+ * - Opened per scenario with CDP Target.createBrowserContext; a tab in it becomes the current window
+ * - Closing it disposes the context with all its windows and state, and switches back to the default window
+ * Opening a context takes milliseconds where launching a browser takes seconds, so with
+ * browser.contexts.enabled each worker keeps one pooled browser process for all its scenarios
+ * Needs CDP (Chrome or Edge); other browsers rely on the pool's reset between scenarios
+ */
+public class BrowserContext {
+
+    private static final int WINDOW_LOOKUP_ATTEMPTS = 40;
+    private static final long WINDOW_LOOKUP_INTERVAL_MILLIS = 25;
+
+    private final WebDriver driver;
+    private final String contextId;
+    private final String defaultHandle;
+    private final long openMillis;
+
+    private BrowserContext(WebDriver driver, String contextId, String defaultHandle, long openMillis) {
+        this.driver = driver;
+        this.contextId = contextId;
+        this.defaultHandle = defaultHandle;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Opens a new browser context and makes its first tab the driver's current window
+     * @return Context, or null if the driver does not support CDP (e.g. Firefox)
+     */
+    public static BrowserContext open(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        HasCdp cdp = (HasCdp) driver;
+        String defaultHandle = driver.getWindowHandle();
+        String contextId = String.valueOf(cdp.executeCdpCommand("Target.createBrowserContext", Collections.emptyMap())
+            .get("browserContextId"));
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("url", "about:blank");
+            params.put("browserContextId", contextId);
+            String targetId = String.valueOf(cdp.executeCdpCommand("Target.createTarget", params).get("targetId"));
+            String handle = findWindow(driver, targetId);
+            driver.switchTo().window(handle);
+            attachDevTools(driver, handle);
+        } catch (RuntimeException e) {
+            dispose(cdp, contextId);
+            driver.switchTo().window(defaultHandle);
+            throw e;
+        }
+        return new BrowserContext(driver, contextId, defaultHandle, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Disposes the context and switches the driver back to its default window
+     * @return Summary for the scenario log
+     */
+    public String close() {
+        try {
+            driver.switchTo().window(defaultHandle);
+        } finally {
+            dispose((HasCdp) driver, contextId);
+        }
+        return "Browser context " + contextId + " opened in " + openMillis + "ms, disposed";
+    }
+
+    /**
+     * Gets the window handle of a new target; ChromeDriver may need a moment to see the tab
+     */
+    private static String findWindow(WebDriver driver, String targetId) {
+        for (int attempt = 0; attempt < WINDOW_LOOKUP_ATTEMPTS; attempt++) {
+            for (String handle : driver.getWindowHandles()) {
+                if (handle.equals(targetId) || handle.endsWith("-" + targetId)) {
+                    return handle;
+                }
+            }
+            try {
+                Thread.sleep(WINDOW_LOOKUP_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IllegalStateException("Browser context tab " + targetId + " not found in the window handles");
+    }
+
+    /**
+     * Attaches the DevTools session (lean mode, network record/replay, stealth script) to the context's tab
+     * Done even when there is no session yet: one created later without a handle could attach
+     * to the default tab instead, as both are page targets
+     */
+    private static void attachDevTools(WebDriver driver, String handle) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        if (devTools.getCdpSession() != null) {
+            try {
+                devTools.disconnectSession();
+            } catch (Exception ignored) {
+                // The previous context's tab is already gone
+            }
+        }
+        devTools.createSession(handle);
+
+        // Page.addScriptToEvaluateOnNewDocument only applies to the target it was sent to, so the
+        // stealth script LocalDriverFactory registers on the default tab is repeated for this one
+        if (driver instanceof HasCapabilities
+            && "chrome".equals(((HasCapabilities) driver).getCapabilities().getBrowserName())) {
+            devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument",
+                Collections.singletonMap("source", LocalDriverFactory.HIDE_WEBDRIVER_SCRIPT)));
+        }
+    }
+
+    private static void dispose(HasCdp cdp, String contextId) {
+        cdp.executeCdpCommand("Target.disposeBrowserContext", Collections.singletonMap("browserContextId", contextId));
+    }
+}
@@ -0,0 +1,126 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds browser options shared by every DriverFactory
+ * Local and remote sessions get the same stealth and lean mode settings
+ */
+public class BrowserOptions {
+    
+    /**
+     * Gets the options for the specified browser
+     * @param browser Browser name (chrome, firefox, edge)
+     */
+    public static MutableCapabilities forBrowser(String browser) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                return chrome();
+            case "firefox":
+                return firefox();
+            case "edge":
+                return edge();
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+    
+    /**
+     * Chrome options
+     */
+    public static ChromeOptions chrome() {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        
+        // Basic browser options
+        chromeOptions.addArguments("--start-maximized");
+        chromeOptions.addArguments("--disable-notifications");
+        chromeOptions.addArguments("--disable-popup-blocking");
+        
+        // Stealth options to bypass automation detection
+        chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
+        chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        chromeOptions.setExperimentalOption("useAutomationExtension", false);
+        
+        // Additional stealth options
+        chromeOptions.addArguments("--disable-dev-shm-usage");
+        chromeOptions.addArguments("--no-sandbox");
+        chromeOptions.addArguments("--disable-gpu");
+        chromeOptions.addArguments("--disable-extensions");
+        chromeOptions.addArguments("--dns-prefetch-disable");
+        chromeOptions.addArguments("--disable-browser-side-navigation");
+        
+        // Set user agent to appear as a regular browser
+        chromeOptions.addArguments("user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        
+        // Modify navigator properties to hide webdriver
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        if (ConfigReader.isLeanModeEnabled()) {
+            ResourceBlocker.addChromiumPreferences(prefs);
+        }
+        chromeOptions.setExperimentalOption("prefs", prefs);
+        
+        return chromeOptions;
+    }
+    
+    /**
+     * Firefox options
+     */
+    public static FirefoxOptions firefox() {
+        FirefoxOptions firefoxOptions = new FirefoxOptions();
+        
+        // Basic browser options
+        firefoxOptions.addArguments("--start-maximized");
+        
+        // Stealth options for Firefox
+        FirefoxProfile profile = new FirefoxProfile();
+        profile.setPreference("dom.webdriver.enabled", false);
+        profile.setPreference("useAutomationExtension", false);
+        profile.setPreference("general.useragent.override", 
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:121.0) Gecko/20100101 Firefox/121.0");
+        if (ConfigReader.isLeanModeEnabled()) {
+            ResourceBlocker.addFirefoxPreferences(profile);
+        }
+        firefoxOptions.setProfile(profile);
+        
+        return firefoxOptions;
+    }
+    
+    /**
+     * Edge options
+     */
+    public static EdgeOptions edge() {
+        EdgeOptions edgeOptions = new EdgeOptions();
+        
+        // Basic browser options
+        edgeOptions.addArguments("--start-maximized");
+        
+        // Stealth options for Edge (similar to Chrome)
+        edgeOptions.addArguments("--disable-blink-features=AutomationControlled");
+        edgeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        edgeOptions.setExperimentalOption("useAutomationExtension", false);
+        edgeOptions.addArguments("--disable-dev-shm-usage");
+        edgeOptions.addArguments("--no-sandbox");
+        edgeOptions.addArguments("--disable-gpu");
+        edgeOptions.addArguments("user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.0.0");
+        
+        Map<String, Object> edgePrefs = new HashMap<>();
+        edgePrefs.put("credentials_enable_service", false);
+        edgePrefs.put("profile.password_manager_enabled", false);
+        if (ConfigReader.isLeanModeEnabled()) {
+            ResourceBlocker.addChromiumPreferences(edgePrefs);
+        }
+        edgeOptions.setExperimentalOption("prefs", edgePrefs);
+        
+        return edgeOptions;
+    }
+}
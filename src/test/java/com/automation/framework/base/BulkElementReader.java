@@ -0,0 +1,195 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads properties of every element matching a locator in a single browser round-trip
+ * Instead of one findElements call plus one call per property per element (N+1 or worse),
+ * the lookup and extraction run together in one executeScript call
+ */
+public class BulkElementReader {
+    
+    /**
+     * Properties that can be extracted besides attributes
+     */
+    public enum Field {
+        TEXT, VISIBILITY, BOUNDING_BOX
+    }
+    
+    /**
+     * Script functions locate(strategy, value) and extract(elements, attributes, fields), shared with PageSnapshot
+     */
+    static final String FUNCTIONS =
+        "function locate(strategy, value) {" +
+        "  if (strategy === 'xpath') {" +
+        "    var found = [];" +
+        "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "    for (var s = 0; s < snapshot.snapshotLength; s++) { found.push(snapshot.snapshotItem(s)); }" +
+        "    return found;" +
+        "  }" +
+        "  if (strategy === 'linkText' || strategy === 'partialLinkText') {" +
+        "    return Array.prototype.filter.call(document.querySelectorAll('a'), function (a) {" +
+        "      var text = a.innerText.trim();" +
+        "      return strategy === 'linkText' ? text === value : text.indexOf(value) >= 0;" +
+        "    });" +
+        "  }" +
+        "  var css = strategy === 'id' ? '#' + CSS.escape(value)" +
+        "    : strategy === 'name' ? '[name=\"' + CSS.escape(value) + '\"]'" +
+        "    : strategy === 'className' ? '.' + CSS.escape(value)" +
+        "    : value;" +
+        "  return Array.prototype.slice.call(document.querySelectorAll(css));" +
+        "}" +
+        "function isVisible(el) {" +
+        "  if (!el.isConnected || !el.getClientRects().length) { return false; }" +
+        "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {" +
+        "    var style = window.getComputedStyle(node);" +
+        "    if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') { return false; }" +
+        "  }" +
+        "  return true;" +
+        "}" +
+        "function extract(elements, attributes, fields) {" +
+        "  return elements.map(function (el) {" +
+        "    var data = {attributes: {}};" +
+        "    if (fields.indexOf('TEXT') >= 0) { data.text = el.innerText !== undefined ? el.innerText : el.textContent; }" +
+        "    if (fields.indexOf('VISIBILITY') >= 0) { data.visible = isVisible(el); }" +
+        "    if (fields.indexOf('BOUNDING_BOX') >= 0) {" +
+        "      var box = el.getBoundingClientRect();" +
+        "      data.rect = [Math.round(box.x), Math.round(box.y), Math.round(box.width), Math.round(box.height)];" +
+        "    }" +
+        "    attributes.forEach(function (name) {" +
+        // Like WebElement.getAttribute: value, checked and selected are the current DOM property
+        "      if (name === 'value' || name === 'checked' || name === 'selected') {" +
+        "        var prop = el[name];" +
+        "        if (typeof prop === 'boolean') { data.attributes[name] = prop ? 'true' : null; return; }" +
+        "        if (prop !== undefined && prop !== null) { data.attributes[name] = String(prop); return; }" +
+        "      }" +
+        "      var attr = el.getAttribute(name);" +
+        "      data.attributes[name] = attr !== null ? attr : (el[name] !== undefined && el[name] !== null ? String(el[name]) : null);" +
+        "    });" +
+        "    return data;" +
+        "  });" +
+        "}";
+    
+    private static final String EXTRACT_SCRIPT = FUNCTIONS +
+        "var elements = arguments[2] || locate(arguments[0], arguments[1]);" +
+        "return extract(elements, arguments[3], arguments[4]);";
+    
+    private static final Map<String, String> STRATEGIES = new LinkedHashMap<>();
+    
+    static {
+        STRATEGIES.put("By.id: ", "id");
+        STRATEGIES.put("By.name: ", "name");
+        STRATEGIES.put("By.className: ", "className");
+        STRATEGIES.put("By.cssSelector: ", "css");
+        STRATEGIES.put("By.tagName: ", "css");
+        STRATEGIES.put("By.xpath: ", "xpath");
+        STRATEGIES.put("By.linkText: ", "linkText");
+        STRATEGIES.put("By.partialLinkText: ", "partialLinkText");
+    }
+    
+    /**
+     * Reads the requested fields and attributes of every element matching the locator
+     * Standard locators (id, name, class, css, tag, xpath, link text) need one round-trip;
+     * any other By is resolved with findElements first (two round-trips)
+     * @param driver WebDriver instance
+     * @param locator Element locator
+     * @param fields Properties to read
+     * @param attributes Attribute names to read, as WebElement.getAttribute does: value, checked and
+     *                   selected are read from the DOM property, others fall back to it
+     * @return One ElementData per match, in document order
+     */
+    public static List<ElementData> read(WebDriver driver, By locator, Set<Field> fields, String... attributes) {
+        String[] strategy = strategyOf(locator);
+        
+        List<WebElement> elements = strategy == null ? driver.findElements(locator) : null;
+        if (elements != null && elements.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Object result = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT,
+            strategy != null ? strategy[0] : null, strategy != null ? strategy[1] : null,
+            elements, List.of(attributes), fieldNames(fields));
+        return toElementData(result);
+    }
+    
+    /**
+     * Reads the rendered text of every element matching the locator
+     */
+    public static List<ElementData> readText(WebDriver driver, By locator) {
+        return read(driver, locator, EnumSet.of(Field.TEXT, Field.VISIBILITY));
+    }
+    
+    /**
+     * Gets the script strategy and value of a standard locator
+     * @return {strategy, value}, or null if the locator has to be resolved with findElements
+     */
+    static String[] strategyOf(By locator) {
+        String description = locator.toString();
+        for (Map.Entry<String, String> entry : STRATEGIES.entrySet()) {
+            if (description.startsWith(entry.getKey())) {
+                return new String[]{entry.getValue(), description.substring(entry.getKey().length())};
+            }
+        }
+        return null;
+    }
+    
+    static List<String> fieldNames(Set<Field> fields) {
+        List<String> fieldNames = new ArrayList<>();
+        for (Field field : fields) {
+            fieldNames.add(field.name());
+        }
+        return fieldNames;
+    }
+    
+    /**
+     * Converts the result of extract() into ElementData, in document order
+     */
+    @SuppressWarnings("unchecked")
+    static List<ElementData> toElementData(Object result) {
+        List<ElementData> data = new ArrayList<>();
+        if (result instanceof List) {
+            int index = 0;
+            for (Object item : (List<Object>) result) {
+                data.add(toElementData(index++, (Map<String, Object>) item));
+            }
+        }
+        return data;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static ElementData toElementData(int index, Map<String, Object> raw) {
+        Rectangle rect = null;
+        Object box = raw.get("rect");
+        if (box instanceof List) {
+            List<Number> values = (List<Number>) box;
+            rect = new Rectangle(values.get(0).intValue(), values.get(1).intValue(),
+                values.get(3).intValue(), values.get(2).intValue());
+        }
+        
+        Map<String, String> attributes = new LinkedHashMap<>();
+        Object rawAttributes = raw.get("attributes");
+        if (rawAttributes instanceof Map) {
+            ((Map<String, Object>) rawAttributes).forEach((name, attr) ->
+                attributes.put(name, attr != null ? String.valueOf(attr) : null));
+        }
+        
+        Object visible = raw.get("visible");
+        return new ElementData(index,
+            (String) raw.get("text"),
+            visible instanceof Boolean ? (Boolean) visible : null,
+            rect,
+            attributes);
+    }
+}
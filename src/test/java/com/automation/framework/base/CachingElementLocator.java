@@ -0,0 +1,81 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ElementLocator that keeps the resolved element between calls
+ * - A single element stays cached until the page navigates or it goes stale
+ * - Element lists are looked up on every call: matches come and go as the page loads or changes,
+ *   which neither navigation nor interaction tracking can see
+ */
+class CachingElementLocator implements ElementLocator {
+    
+    private final SearchContext searchContext;
+    private final PageRegistry registry;
+    private final By by;
+    // A lock rather than synchronized: a virtual thread blocked on the browser inside
+    // a synchronized block would pin its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private WebElement cachedElement;
+    private long elementEpoch;
+    
+    CachingElementLocator(SearchContext searchContext, PageRegistry registry, Field field) {
+        this.searchContext = searchContext;
+        this.registry = registry;
+        this.by = new Annotations(field).buildBy();
+    }
+    
+    @Override
+    public WebElement findElement() {
+        lock.lock();
+        try {
+            long epoch = registry.getNavigationEpoch();
+            if (cachedElement != null && elementEpoch == epoch) {
+                PageRegistry.recordCachedFind();
+                return cachedElement;
+            }
+            PageRegistry.recordRemoteFind();
+            cachedElement = searchContext.findElement(by);
+            elementEpoch = epoch;
+            return cachedElement;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public List<WebElement> findElements() {
+        PageRegistry.recordRemoteFind();
+        return searchContext.findElements(by);
+    }
+    
+    PageRegistry getRegistry() {
+        return registry;
+    }
+    
+    /**
+     * Drops the cached element so the next call re-locates it
+     */
+    void invalidate() {
+        lock.lock();
+        try {
+            cachedElement = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "CachingElementLocator '" + by + "'";
+    }
+}
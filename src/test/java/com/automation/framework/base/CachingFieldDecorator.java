@@ -0,0 +1,85 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * PageFactory decorator producing staleness-aware proxies over CachingElementLocator
+ * - Calls go to the cached element; on StaleElementReferenceException the element is
+ *   re-located once and the call retried
+ * - Clicks, typing and submits mark an interaction, so earlier page snapshots are known to be stale
+ */
+class CachingFieldDecorator extends DefaultFieldDecorator {
+    
+    CachingFieldDecorator(WebDriver driver, PageRegistry registry) {
+        super(field -> new CachingElementLocator(driver, registry, field));
+    }
+    
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        InvocationHandler handler = new StaleAwareElementHandler((CachingElementLocator) locator);
+        return (WebElement) Proxy.newProxyInstance(loader,
+            new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+    
+    /**
+     * Invocation handler that retries once on a stale element
+     */
+    private static class StaleAwareElementHandler implements InvocationHandler {
+        
+        private final CachingElementLocator locator;
+        
+        private StaleAwareElementHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Proxy element for: " + locator;
+            }
+            
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            
+            try {
+                return invokeAndTrack(element, method, args);
+            } catch (StaleElementReferenceException e) {
+                PageRegistry.recordStaleRelocation();
+                locator.invalidate();
+                return invokeAndTrack(locator.findElement(), method, args);
+            }
+        }
+        
+        private Object invokeAndTrack(WebElement element, Method method, Object[] args) throws Throwable {
+            try {
+                Object result = method.invoke(element, args);
+                switch (method.getName()) {
+                    case "click":
+                    case "submit":
+                    case "sendKeys":
+                    case "clear":
+                        locator.getRegistry().onInteraction();
+                        break;
+                    default:
+                        break;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
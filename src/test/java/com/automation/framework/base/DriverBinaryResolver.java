@@ -0,0 +1,273 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves browser driver binaries once per JVM
+ * - Uses driver.path.[browser] when a pre-provisioned driver is configured
+ * - Otherwise looks up an on-disk cache keyed by browser and major version,
+ *   shared by every JVM on the machine, before falling back to WebDriverManager
+ * - In offline mode (driver.offline=true) never reaches the network and fails fast
+ *   when no driver can be found locally
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger log = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static final String CACHE_FILE_NAME = "drivers.properties";
+    private static final String LOCK_FILE_NAME = "drivers.lock";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.\\d+");
+    private static final long VERSION_TIMEOUT_SECONDS = 5;
+
+    private static final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the driver for the specified browser and exports it as the
+     * system property Selenium reads (webdriver.chrome.driver, ...)
+     * Only the first call per browser does any work
+     * @param browser Browser name (chrome, firefox, edge)
+     * @return Absolute path of the driver binary
+     */
+    public static String resolve(String browser) {
+        String key = browser.toLowerCase();
+        String driverPath = resolved.computeIfAbsent(key, DriverBinaryResolver::resolveDriverPath);
+        System.setProperty(getSystemPropertyName(key), driverPath);
+        return driverPath;
+    }
+
+    /**
+     * Finds the driver binary, in order: configured path, disk cache, WebDriverManager
+     */
+    private static String resolveDriverPath(String browser) {
+        long start = System.currentTimeMillis();
+
+        String configuredPath = ConfigReader.getDriverPath(browser);
+        if (configuredPath != null) {
+            File driverFile = new File(configuredPath);
+            if (!driverFile.isFile() || !driverFile.canExecute()) {
+                throw new IllegalStateException("Configured driver.path." + browser +
+                    " is not an executable file: " + driverFile.getAbsolutePath());
+            }
+            log.info("Using pre-provisioned {} driver: {}", browser, driverFile.getAbsolutePath());
+            return driverFile.getAbsolutePath();
+        }
+
+        boolean offline = ConfigReader.isDriverOffline();
+        WebDriverManager webDriverManager = getWebDriverManager(browser)
+            .useLocalCommandsPropertiesFirst()
+            .useLocalVersionsPropertiesFirst()
+            .timeout(ConfigReader.getDriverResolutionTimeout());
+
+        String majorVersion = detectBrowserMajorVersion(browser, webDriverManager);
+        String cacheKey = majorVersion != null ? browser + "." + majorVersion : null;
+
+        if (cacheKey != null) {
+            String cachedPath = readCache(cacheKey);
+            if (cachedPath != null) {
+                log.info("Using cached {} driver for browser version {}: {}", browser, majorVersion, cachedPath);
+                return cachedPath;
+            }
+        }
+
+        if (offline) {
+            throw new IllegalStateException("Offline driver mode: no " + browser + " driver found for browser version " +
+                (majorVersion != null ? majorVersion : "unknown") + ". Set driver.path." + browser +
+                " or populate " + getCacheDir() + " while online.");
+        }
+
+        webDriverManager.setup();
+        String driverPath = webDriverManager.getDownloadedDriverPath();
+        if (driverPath == null) {
+            throw new IllegalStateException("WebDriverManager could not resolve a " + browser + " driver");
+        }
+
+        if (cacheKey != null) {
+            writeCache(cacheKey, driverPath);
+        }
+
+        log.info("Resolved {} driver in {}ms: {}", browser, System.currentTimeMillis() - start, driverPath);
+        return driverPath;
+    }
+
+    /**
+     * Detects the installed browser major version without network access
+     * @return Major version, or null if it cannot be determined
+     */
+    private static String detectBrowserMajorVersion(String browser, WebDriverManager webDriverManager) {
+        try {
+            Optional<Path> browserPath = webDriverManager.getBrowserPath();
+            if (!browserPath.isPresent()) {
+                return null;
+            }
+
+            // On Windows, <browser> --version starts the browser instead of printing (and may never exit):
+            // use the version-named folder next to the executable, or WebDriverManager's registry lookup
+            if (System.getProperty("os.name", "").toLowerCase().startsWith("windows")) {
+                String majorVersion = versionFromInstallFolder(browserPath.get());
+                if (majorVersion != null) {
+                    return majorVersion;
+                }
+                Optional<String> version = new VersionDetector(webDriverManager.config(), null)
+                    .getBrowserVersionFromTheShell(browser);
+                return version.map(VersionDetector::getMajorVersion).orElse(null);
+            }
+
+            // Linux and macOS binaries print their version; the output goes to a file so a binary that
+            // prints nothing and never exits cannot block us past the timeout
+            Path output = Files.createTempFile("browser-version", ".txt");
+            try {
+                Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+                if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                    log.warn("{} --version did not exit within {}s", browserPath.get(), VERSION_TIMEOUT_SECONDS);
+                }
+                String printed = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+                Matcher matcher = VERSION_PATTERN.matcher(printed);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            } finally {
+                Files.deleteIfExists(output);
+            }
+            return versionFromInstallFolder(browserPath.get());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not detect browser version: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the major version from a version-named folder next to the executable (Windows installs)
+     */
+    private static String versionFromInstallFolder(Path browserPath) {
+        File[] siblings = browserPath.toFile().getParentFile().listFiles(File::isDirectory);
+        if (siblings != null) {
+            for (File sibling : siblings) {
+                Matcher matcher = VERSION_PATTERN.matcher(sibling.getName());
+                if (matcher.lookingAt()) {
+                    return matcher.group(1);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a driver path from the shared cache, ignoring entries whose binary was removed
+     */
+    private static String readCache(String cacheKey) {
+        Path cacheDir = getCacheDir();
+        if (!Files.exists(cacheDir.resolve(CACHE_FILE_NAME))) {
+            return null;
+        }
+        try (FileChannel lockChannel = openLockChannel(cacheDir)) {
+            // Released when the channel is closed
+            lockChannel.lock(0, Long.MAX_VALUE, true);
+            String driverPath = loadCache(cacheDir).getProperty(cacheKey);
+            return driverPath != null && new File(driverPath).canExecute() ? driverPath : null;
+        } catch (IOException e) {
+            log.warn("Could not read driver cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a driver path in the shared cache
+     * The file lock keeps concurrent JVMs from losing each other's entries
+     */
+    private static void writeCache(String cacheKey, String driverPath) {
+        Path cacheDir = getCacheDir();
+        try {
+            Files.createDirectories(cacheDir);
+            try (FileChannel lockChannel = openLockChannel(cacheDir)) {
+                // Released when the channel is closed
+                lockChannel.lock();
+                Properties cache = loadCache(cacheDir);
+                cache.setProperty(cacheKey, driverPath);
+
+                Path tempFile = Files.createTempFile(cacheDir, "drivers", ".tmp");
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    cache.store(out, "Resolved browser drivers by browser and major version");
+                }
+                Files.move(tempFile, cacheDir.resolve(CACHE_FILE_NAME),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write driver cache: {}", e.getMessage());
+        }
+    }
+
+    private static Properties loadCache(Path cacheDir) throws IOException {
+        Properties cache = new Properties();
+        Path cacheFile = cacheDir.resolve(CACHE_FILE_NAME);
+        if (Files.exists(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            }
+        }
+        return cache;
+    }
+
+    private static FileChannel openLockChannel(Path cacheDir) throws IOException {
+        return FileChannel.open(cacheDir.resolve(LOCK_FILE_NAME),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static Path getCacheDir() {
+        return Paths.get(ConfigReader.getDriverCacheDir());
+    }
+
+    private static WebDriverManager getWebDriverManager(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String getSystemPropertyName(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Provider interface used by DriverManager to create and destroy browser sessions
+ * Selected with the driver.factory property: "local", "grid" or the fully
+ * qualified name of a custom implementation with a public no-arg constructor
+ */
+public interface DriverFactory {
+    
+    /**
+     * Creates a new session for the specified browser
+     * @param browser Browser name (chrome, firefox, edge)
+     */
+    WebDriver createDriver(String browser);
+    
+    /**
+     * Ends a session created by this factory
+     */
+    default void quitDriver(WebDriver driver) {
+        driver.quit();
+    }
+}
@@ -1,18 +1,16 @@
 package com.automation.framework.base;
 
 import com.automation.framework.config.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.automation.framework.logging.LogShutdown;
+import com.automation.framework.metrics.CommandTimingListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.time.Duration;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -20,129 +18,186 @@ import java.util.Map;
  */
 public class DriverManager {
     
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final Logger log = LogManager.getLogger(DriverManager.class);
+    
+    // One holder per thread, always removed in quitDriver, so nothing outlives the scenario
+    // on pooled or virtual threads
+    private static final ThreadLocal<DriverSession> session = new ThreadLocal<>();
+    private static DriverPool driverPool;
+    private static DriverFactory driverFactory;
+    private static final Map<WebDriver, WebDriver> rawDrivers = Collections.synchronizedMap(new IdentityHashMap<>());
     
     /**
      * Gets the WebDriver instance for the current thread
      */
     public static WebDriver getDriver() {
-        return driver.get();
+        DriverSession current = session.get();
+        return current != null ? current.driver : null;
     }
     
     /**
      * Initializes WebDriver based on the specified browser
+     * Uses a pooled session when driver.pool.enabled is true
      * @param browser Browser name (chrome, firefox, edge)
      */
     public static void initializeDriver(String browser) {
-        WebDriver webDriver;
+        initializeDriver(browser, ConfigReader.isDriverPoolEnabled());
+    }
+    
+    /**
+     * Initializes WebDriver based on the specified browser
+     * @param browser Browser name (chrome, firefox, edge)
+     * @param pooled Whether to lease the session from the driver pool
+     */
+    public static void initializeDriver(String browser, boolean pooled) {
+        if (!pooled) {
+            session.set(new DriverSession(createDriver(browser), null));
+            return;
+        }
         
-        switch (browser.toLowerCase()) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                
-                // Basic browser options
-                chromeOptions.addArguments("--start-maximized");
-                chromeOptions.addArguments("--disable-notifications");
-                chromeOptions.addArguments("--disable-popup-blocking");
-                
-                // Stealth options to bypass automation detection
-                chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
-                chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-                chromeOptions.setExperimentalOption("useAutomationExtension", false);
-                
-                // Additional stealth options
-                chromeOptions.addArguments("--disable-dev-shm-usage");
-                chromeOptions.addArguments("--no-sandbox");
-                chromeOptions.addArguments("--disable-gpu");
-                chromeOptions.addArguments("--disable-extensions");
-                chromeOptions.addArguments("--dns-prefetch-disable");
-                chromeOptions.addArguments("--disable-browser-side-navigation");
-                
-                // Set user agent to appear as a regular browser
-                chromeOptions.addArguments("user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-                
-                // Modify navigator properties to hide webdriver
-                Map<String, Object> prefs = new HashMap<>();
-                prefs.put("credentials_enable_service", false);
-                prefs.put("profile.password_manager_enabled", false);
-                chromeOptions.setExperimentalOption("prefs", prefs);
-                
-                webDriver = new ChromeDriver(chromeOptions);
-                
-                // Execute CDP commands to further hide automation
-                Map<String, Object> params = new HashMap<>();
-                params.put("source", 
-                    "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})");
-                ((ChromeDriver) webDriver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", params);
-                
-                break;
-                
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                
-                // Basic browser options
-                firefoxOptions.addArguments("--start-maximized");
-                
-                // Stealth options for Firefox
-                FirefoxProfile profile = new FirefoxProfile();
-                profile.setPreference("dom.webdriver.enabled", false);
-                profile.setPreference("useAutomationExtension", false);
-                profile.setPreference("general.useragent.override", 
-                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:121.0) Gecko/20100101 Firefox/121.0");
-                firefoxOptions.setProfile(profile);
-                
-                webDriver = new FirefoxDriver(firefoxOptions);
-                break;
-                
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                
-                // Basic browser options
-                edgeOptions.addArguments("--start-maximized");
-                
-                // Stealth options for Edge (similar to Chrome)
-                edgeOptions.addArguments("--disable-blink-features=AutomationControlled");
-                edgeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-                edgeOptions.setExperimentalOption("useAutomationExtension", false);
-                edgeOptions.addArguments("--disable-dev-shm-usage");
-                edgeOptions.addArguments("--no-sandbox");
-                edgeOptions.addArguments("--disable-gpu");
-                edgeOptions.addArguments("user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.0.0");
-                
-                Map<String, Object> edgePrefs = new HashMap<>();
-                edgePrefs.put("credentials_enable_service", false);
-                edgePrefs.put("profile.password_manager_enabled", false);
-                edgeOptions.setExperimentalOption("prefs", edgePrefs);
-                
-                webDriver = new EdgeDriver(edgeOptions);
-                break;
-                
-            default:
-                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        DriverPool pool = getDriverPool();
+        DriverPool.PooledDriver lease = pool.lease(browser.toLowerCase());
+        if (lease == null) {
+            lease = pool.register(browser.toLowerCase(), createDriver(browser));
+        }
+        session.set(new DriverSession(lease.getDriver(), lease));
+    }
+    
+    /**
+     * Gets the driver pool statistics, or null if the pool was never used
+     */
+    public static synchronized String getDriverPoolStats() {
+        return driverPool != null ? driverPool.getStats() : null;
+    }
+    
+    /**
+     * Lazily creates the shared driver pool and registers a shutdown hook
+     * that quits the idle sessions when the JVM exits
+     */
+    private static synchronized DriverPool getDriverPool() {
+        if (driverPool == null) {
+            DriverPool pool = new DriverPool(
+                ConfigReader.getDriverPoolMaxSize(),
+                ConfigReader.getDriverPoolMaxUses(),
+                ConfigReader.getDriverPoolIdleTimeout(),
+                DriverManager::destroyDriver);
+            LogShutdown.addHook("driver-pool-shutdown", () -> {
+                log.info(pool.getStats());
+                pool.shutdown();
+            });
+            driverPool = pool;
+        }
+        return driverPool;
+    }
+    
+    /**
+     * Creates a new WebDriver session for the specified browser
+     * With metrics.enabled the session is wrapped in an EventFiringDecorator that times every command
+     */
+    private static WebDriver createDriver(String browser) {
+        WebDriver webDriver = getDriverFactory().createDriver(browser);
+        if (ConfigReader.isMetricsEnabled()) {
+            WebDriver rawDriver = webDriver;
+            webDriver = new EventFiringDecorator<>(new CommandTimingListener()).decorate(rawDriver);
+            rawDrivers.put(webDriver, rawDriver);
         }
         
         // Configure timeouts from config.properties
+        // Explicit waits suspend the implicit wait only while they run (see WaitUtil.newWait)
         int implicitWait = ConfigReader.getImplicitWait();
         int pageLoadTimeout = ConfigReader.getPageLoadTimeout();
         
         webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
         webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
         
-        System.out.println("Timeouts configured - Implicit: " + implicitWait + "s, Page Load: " + pageLoadTimeout + "s");
+        log.info("Timeouts configured - Implicit: {}s, Page Load: {}s", implicitWait, pageLoadTimeout);
         
-        driver.set(webDriver);
+        return webDriver;
+    }
+    
+    /**
+     * Lazily creates the DriverFactory selected by driver.factory
+     */
+    private static synchronized DriverFactory getDriverFactory() {
+        if (driverFactory == null) {
+            selectHttpClient();
+            String factory = ConfigReader.getDriverFactory();
+            switch (factory.toLowerCase()) {
+                case "local":
+                    driverFactory = new LocalDriverFactory();
+                    break;
+                case "grid":
+                    driverFactory = new GridDriverFactory();
+                    break;
+                default:
+                    try {
+                        driverFactory = (DriverFactory) Class.forName(factory).getDeclaredConstructor().newInstance();
+                    } catch (ReflectiveOperationException | ClassCastException e) {
+                        throw new IllegalArgumentException("Invalid driver.factory: " + factory, e);
+                    }
+            }
+            log.info("Driver factory: {}", driverFactory.getClass().getSimpleName());
+        }
+        return driverFactory;
+    }
+    
+    /**
+     * Selects the HttpClient.Factory Selenium uses for the WebDriver protocol (http.client)
+     * Must run before the first session, Selenium reads webdriver.http.factory only once
+     * An explicit -Dwebdriver.http.factory takes precedence
+     */
+    private static void selectHttpClient() {
+        String client = ConfigReader.getHttpClient();
+        if (client.equals("default") || System.getProperty("webdriver.http.factory") != null) {
+            return;
+        }
+        System.setProperty("webdriver.http.factory", client);
+        if (client.equals("pooled")) {
+            LogShutdown.addHook("http-client-stats", () -> log.info(PooledHttpClient.getStats()));
+        }
+        log.info("WebDriver HTTP client: {}", client);
+    }
+    
+    /**
+     * Ends a session through the factory that created it
+     * The factory gets the undecorated driver it created (the Grid factory tracks sessions by instance)
+     */
+    private static void destroyDriver(WebDriver webDriver) {
+        WebDriver rawDriver = rawDrivers.remove(webDriver);
+        getDriverFactory().quitDriver(rawDriver != null ? rawDriver : webDriver);
     }
     
     /**
      * Quits the WebDriver and cleans up ThreadLocal
+     * Pooled sessions are reset and returned to the pool instead of quit
      */
     public static void quitDriver() {
-        if (driver.get() != null) {
-            driver.get().quit();
-            driver.remove();
+        DriverSession current = session.get();
+        if (current == null) {
+            return;
+        }
+        try {
+            PageRegistry.release(current.driver);
+            if (current.lease != null) {
+                getDriverPool().release(current.lease);
+            } else {
+                destroyDriver(current.driver);
+            }
+        } finally {
+            session.remove();
+        }
+    }
+    
+    /**
+     * The current thread's driver and, when pooled, its lease
+     */
+    private static final class DriverSession {
+        private final WebDriver driver;
+        private final DriverPool.PooledDriver lease;
+        
+        private DriverSession(WebDriver driver, DriverPool.PooledDriver lease) {
+            this.driver = driver;
+            this.lease = lease;
         }
     }
 }
@@ -0,0 +1,290 @@
+package com.automation.framework.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of live WebDriver sessions
+ * Sessions are reset (windows, cookies, storage, about:blank) before being reused,
+ * retired after a maximum number of uses and evicted when idle for too long
+ * With CDP (Chrome, Edge) the reset clears every storage type of every origin the session
+ * visited; without it only the current page's local and session storage
+ */
+public class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    private final int maxSize;
+    private final int maxUses;
+    private final long idleTimeoutMillis;
+    private final Consumer<WebDriver> quitAction;
+    private final Deque<PooledDriver> idle = new ArrayDeque<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetFailures = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxSize Maximum number of idle sessions kept alive
+     * @param maxUses Number of scenarios a session may serve before it is quit
+     * @param idleTimeoutSeconds Idle time after which a pooled session is quit
+     * @param quitAction Ends a session (delegates to the DriverFactory that created it)
+     */
+    public DriverPool(int maxSize, int maxUses, int idleTimeoutSeconds, Consumer<WebDriver> quitAction) {
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.idleTimeoutMillis = idleTimeoutSeconds * 1000L;
+        this.quitAction = quitAction;
+    }
+
+    /**
+     * Leases an idle session for the given browser
+     * @return Pooled session, or null when none is available (pool miss)
+     */
+    public PooledDriver lease(String browser) {
+        synchronized (idle) {
+            evictIdle();
+            Iterator<PooledDriver> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                PooledDriver candidate = iterator.next();
+                if (candidate.browser.equals(browser)) {
+                    iterator.remove();
+                    candidate.uses++;
+                    hits.incrementAndGet();
+                    return candidate;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Wraps a newly created session so it can later be returned to the pool
+     */
+    public PooledDriver register(String browser, WebDriver driver) {
+        PooledDriver pooled = new PooledDriver(browser, driver);
+        pooled.uses = 1;
+        return pooled;
+    }
+
+    /**
+     * Returns a session to the pool after resetting its state
+     * Sessions that exceeded max uses, failed to reset or do not fit are quit
+     */
+    public void release(PooledDriver pooled) {
+        if (pooled.uses >= maxUses) {
+            evictions.incrementAndGet();
+            quitQuietly(pooled.driver);
+            return;
+        }
+
+        if (!reset(pooled.driver)) {
+            resetFailures.incrementAndGet();
+            quitQuietly(pooled.driver);
+            return;
+        }
+
+        pooled.lastReleased = System.currentTimeMillis();
+        PooledDriver overflow = null;
+        synchronized (idle) {
+            evictIdle();
+            idle.addFirst(pooled);
+            if (idle.size() > maxSize) {
+                overflow = idle.removeLast();
+            }
+        }
+        if (overflow != null) {
+            evictions.incrementAndGet();
+            quitQuietly(overflow.driver);
+        }
+    }
+
+    /**
+     * Quits every idle session
+     */
+    public void shutdown() {
+        List<PooledDriver> drained;
+        synchronized (idle) {
+            drained = new ArrayList<>(idle);
+            idle.clear();
+        }
+        // Quit outside the lock, so no thread blocks on the browser while holding it
+        for (PooledDriver pooled : drained) {
+            quitQuietly(pooled.driver);
+        }
+    }
+
+    /**
+     * Gets a one-line summary of pool statistics
+     */
+    public String getStats() {
+        long resetCount = resets.get();
+        long avgResetMillis = resetCount > 0 ? resetNanos.get() / resetCount / 1_000_000 : 0;
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return "Driver pool - hits: " + hits.get() +
+            ", misses: " + misses.get() +
+            ", resets: " + resetCount +
+            ", reset failures: " + resetFailures.get() +
+            ", avg reset: " + avgResetMillis + "ms" +
+            ", evictions: " + evictions.get() +
+            ", idle: " + idleCount;
+    }
+
+    /**
+     * Clears browser state so the session looks fresh to the next scenario
+     */
+    private boolean reset(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            HasCdp cdp = driver instanceof HasCdp ? (HasCdp) driver : null;
+            Set<String> origins = new LinkedHashSet<>();
+
+            // Close every window except the first one, noting the origins each of them visited
+            Set<String> handles = driver.getWindowHandles();
+            String mainHandle = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(mainHandle)) {
+                    driver.switchTo().window(handle);
+                    addVisitedOrigins(cdp, origins);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(mainHandle);
+            addVisitedOrigins(cdp, origins);
+
+            if (cdp != null) {
+                // Every storage type of every visited origin (local and session storage, IndexedDB,
+                // cache storage, service workers...), not only the current page's
+                for (String origin : origins) {
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("origin", origin);
+                    params.put("storageTypes", "all");
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin", params);
+                }
+                // Cookies of every domain, including third-party ones
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            } else {
+                // Without CDP only the current origin's storage and cookies can be reached
+                try {
+                    ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); } catch (e) {}" +
+                        "try { window.sessionStorage.clear(); } catch (e) {}");
+                } catch (Exception ignored) {
+                    // Pages such as about:blank or data: URLs have no storage
+                }
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+            if (cdp != null) {
+                // So the next reset only sees the origins of the next scenario
+                cdp.executeCdpCommand("Page.resetNavigationHistory", Collections.emptyMap());
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Driver pool reset failed, discarding session: {}", e.getMessage());
+            return false;
+        } finally {
+            resets.incrementAndGet();
+            resetNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds the origins in the current window's navigation history (http and https pages only)
+     * @param cdp Session's CDP access, or null when the browser has none (nothing is added)
+     */
+    @SuppressWarnings("unchecked")
+    private static void addVisitedOrigins(HasCdp cdp, Set<String> origins) {
+        if (cdp == null) {
+            return;
+        }
+        Object entries = cdp.executeCdpCommand("Page.getNavigationHistory", Collections.emptyMap()).get("entries");
+        if (!(entries instanceof List)) {
+            return;
+        }
+        for (Object entry : (List<Object>) entries) {
+            Object url = entry instanceof Map ? ((Map<String, Object>) entry).get("url") : null;
+            if (url == null) {
+                continue;
+            }
+            try {
+                URI uri = URI.create(url.toString());
+                String scheme = uri.getScheme();
+                if (uri.getHost() != null && ("http".equals(scheme) || "https".equals(scheme))) {
+                    origins.add(scheme + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : ""));
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Not a URL with an origin
+            }
+        }
+    }
+
+    /**
+     * Quits sessions that have been idle longer than the configured timeout
+     * Must be called while holding the idle lock
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledDriver> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            PooledDriver pooled = iterator.next();
+            if (now - pooled.lastReleased > idleTimeoutMillis) {
+                iterator.remove();
+                evictions.incrementAndGet();
+                quitQuietly(pooled.driver);
+            }
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            quitAction.accept(driver);
+        } catch (Exception e) {
+            log.error("Error quitting pooled driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A session tracked by the pool
+     */
+    public static class PooledDriver {
+        private final String browser;
+        private final WebDriver driver;
+        private int uses;
+        private long lastReleased;
+
+        private PooledDriver(String browser, WebDriver driver) {
+            this.browser = browser;
+            this.driver = driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+    }
+}
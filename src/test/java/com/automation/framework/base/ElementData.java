@@ -0,0 +1,74 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one element read by BulkElementReader
+ * Fields that were not requested are null (text, visible, rect) or absent (attributes)
+ */
+public final class ElementData {
+    
+    private final int index;
+    private final String text;
+    private final Boolean visible;
+    private final Rectangle rect;
+    private final Map<String, String> attributes;
+    
+    public ElementData(int index, String text, Boolean visible, Rectangle rect, Map<String, String> attributes) {
+        this.index = index;
+        this.text = text;
+        this.visible = visible;
+        this.rect = rect;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+    
+    /**
+     * Position of the element among the matches, in document order
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    /**
+     * Rendered text (innerText), or null if not requested
+     */
+    public String getText() {
+        return text;
+    }
+    
+    /**
+     * Whether the element is rendered and visible, or null if not requested
+     */
+    public Boolean isVisible() {
+        return visible;
+    }
+    
+    /**
+     * Bounding box relative to the viewport, or null if not requested
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+    
+    /**
+     * Gets a requested attribute, or null if the element does not have it
+     * value, checked and selected are the current DOM properties, as with WebElement.getAttribute
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+    
+    @Override
+    public String toString() {
+        return "ElementData{index=" + index + ", text='" + text + "', visible=" + visible +
+            ", rect=" + (rect != null ? rect.getDimension() + "@" + rect.getPoint() : null) +
+            ", attributes=" + attributes + "}";
+    }
+}
@@ -0,0 +1,145 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DriverFactory that spreads RemoteWebDriver sessions across Selenium Grid nodes
+ * - Each new session goes to the node with the fewest active sessions
+ * - A node never holds more than grid.max.sessions.per.node sessions
+ * - When every node is full, callers wait up to grid.session.wait.timeout seconds
+ */
+public class GridDriverFactory implements DriverFactory {
+    
+    private static final Logger log = LogManager.getLogger(GridDriverFactory.class);
+    
+    private final List<GridNode> nodes = new ArrayList<>();
+    private final int maxSessionsPerNode;
+    private final long waitTimeoutMillis;
+    private final Map<WebDriver, GridNode> sessions = Collections.synchronizedMap(new IdentityHashMap<>());
+    // Lock and condition instead of synchronized/wait, which pin virtual threads to their carrier
+    private final ReentrantLock capacityLock = new ReentrantLock();
+    private final Condition capacityFreed = capacityLock.newCondition();
+    
+    public GridDriverFactory() {
+        for (String url : ConfigReader.getGridUrls()) {
+            try {
+                nodes.add(new GridNode(URI.create(url).toURL()));
+            } catch (MalformedURLException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid grid.urls entry: " + url, e);
+            }
+        }
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("driver.factory=grid requires at least one URL in grid.urls");
+        }
+        this.maxSessionsPerNode = ConfigReader.getGridMaxSessionsPerNode();
+        this.waitTimeoutMillis = ConfigReader.getGridSessionWaitTimeout() * 1000L;
+    }
+    
+    @Override
+    public WebDriver createDriver(String browser) {
+        GridNode node = acquireNode();
+        try {
+            HttpCommandExecutor executor = new HttpCommandExecutor(Collections.emptyMap(), node.url,
+                PooledHttpClient.clientConfig(node.url));
+            RemoteWebDriver remoteDriver = new RemoteWebDriver(executor, BrowserOptions.forBrowser(browser));
+            // Augmenting exposes CDP (HasDevTools) for Chromium sessions on the Grid
+            WebDriver webDriver = new Augmenter().augment(remoteDriver);
+            sessions.put(webDriver, node);
+            log.info("Remote {} session started on {} ({}/{})", browser, node.url, node.activeSessions,
+                maxSessionsPerNode);
+            return webDriver;
+        } catch (RuntimeException e) {
+            releaseNode(node);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void quitDriver(WebDriver driver) {
+        try {
+            driver.quit();
+        } finally {
+            GridNode node = sessions.remove(driver);
+            if (node != null) {
+                releaseNode(node);
+            }
+        }
+    }
+    
+    /**
+     * Picks the least loaded node with free capacity, waiting if all nodes are full
+     */
+    private GridNode acquireNode() {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        capacityLock.lock();
+        try {
+            while (true) {
+                GridNode leastLoaded = null;
+                for (GridNode node : nodes) {
+                    if (node.activeSessions < maxSessionsPerNode
+                            && (leastLoaded == null || node.activeSessions < leastLoaded.activeSessions)) {
+                        leastLoaded = node;
+                    }
+                }
+                if (leastLoaded != null) {
+                    leastLoaded.activeSessions++;
+                    return leastLoaded;
+                }
+                
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No Selenium Grid node capacity available after " +
+                        waitTimeoutMillis / 1000 + "s (" + nodes.size() + " nodes x " + maxSessionsPerNode + " sessions)");
+                }
+                try {
+                    capacityFreed.await(remaining, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for Grid node capacity", e);
+                }
+            }
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+    
+    private void releaseNode(GridNode node) {
+        capacityLock.lock();
+        try {
+            node.activeSessions--;
+            capacityFreed.signalAll();
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+    
+    /**
+     * A Grid endpoint and its number of sessions opened by this JVM
+     */
+    private static class GridNode {
+        private final URL url;
+        private int activeSessions;
+        
+        private GridNode(URL url) {
+            this.url = url;
+        }
+    }
+}
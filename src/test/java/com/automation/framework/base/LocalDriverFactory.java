@@ -0,0 +1,52 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DriverFactory that launches browsers on the local machine
+ * Sessions use the http.* connection settings (see PooledHttpClient)
+ */
+public class LocalDriverFactory implements DriverFactory {
+    
+    /** Hides navigator.webdriver; registered per target, so BrowserContext repeats it for each context tab */
+    static final String HIDE_WEBDRIVER_SCRIPT = "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})";
+    
+    @Override
+    public WebDriver createDriver(String browser) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                DriverBinaryResolver.resolve("chrome");
+                ChromeDriver chromeDriver = new ChromeDriver(ChromeDriverService.createDefaultService(),
+                    BrowserOptions.chrome(), PooledHttpClient.clientConfig());
+                
+                // Execute CDP commands to further hide automation
+                Map<String, Object> params = new HashMap<>();
+                params.put("source", HIDE_WEBDRIVER_SCRIPT);
+                chromeDriver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", params);
+                
+                return chromeDriver;
+                
+            case "firefox":
+                DriverBinaryResolver.resolve("firefox");
+                return new FirefoxDriver(GeckoDriverService.createDefaultService(),
+                    BrowserOptions.firefox(), PooledHttpClient.clientConfig());
+                
+            case "edge":
+                DriverBinaryResolver.resolve("edge");
+                return new EdgeDriver(EdgeDriverService.createDefaultService(),
+                    BrowserOptions.edge(), PooledHttpClient.clientConfig());
+                
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records a scenario's network traffic to a HAR archive and replays it without touching the network
+ * - record: every response (status, headers, body) is captured through CDP Fetch at the response stage
+ * - replay: every request is paused at the request stage and fulfilled from the archive;
+ *   requests missing from it are blocked, passed through or blocked and reported (network.replay.unmatched)
+ * - Requests match on method and URL, ignoring network.match.ignored.params and the fragment;
+ *   a request repeated in the recording gets its responses in recorded order
+ * Archives are HAR 1.2 files (bodies base64 encoded) under network.archive.dir, one per feature and scenario
+ * Needs CDP (Chrome or Edge); Firefox runs live
+ */
+public class NetworkRecorder {
+
+    private static final Logger log = LogManager.getLogger(NetworkRecorder.class);
+
+    private static final Map<WebDriver, NetworkRecorder> recorders = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Object archiveLock = new Object();
+
+    // The body is decoded by the browser before we get it, so these no longer describe it
+    private static final Set<String> DROPPED_HEADERS = new HashSet<>(
+        List.of("content-encoding", "content-length", "transfer-encoding"));
+
+    private final DevTools devTools;
+    private final Json json = new Json();
+    private final List<Exchange> recorded = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Deque<Exchange>> replayable = new HashMap<>();
+    private final List<String> unmatched = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong passedThrough = new AtomicLong();
+    private volatile String mode = "live";
+    private volatile String unmatchedPolicy;
+    private volatile Set<String> ignoredParams = Collections.emptySet();
+    private Path archive;
+
+    private NetworkRecorder(DevTools devTools, String windowHandle) {
+        this.devTools = devTools;
+        // Attach to the driver's current window, not to whichever tab CDP lists first
+        devTools.createSessionIfThereIsNotOne(windowHandle);
+        devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+            this::onRequestPaused);
+    }
+
+    /**
+     * Gets the recorder for a driver, creating it on first use
+     * @return Recorder, or null if the driver does not support CDP (e.g. Firefox)
+     */
+    public static NetworkRecorder forDriver(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        NetworkRecorder existing = recorders.get(driver);
+        if (existing != null) {
+            return existing;
+        }
+        // getDevTools() may open the CDP connection, so it runs outside the map's lock
+        NetworkRecorder created = new NetworkRecorder(((HasDevTools) driver).getDevTools(),
+            driver.getWindowHandle());
+        synchronized (recorders) {
+            return recorders.computeIfAbsent(driver, d -> created);
+        }
+    }
+
+    /**
+     * Gets the archive of a scenario: network.archive.dir/[feature file name]/[scenario name].har
+     * Examples of a scenario outline share one archive
+     */
+    public static Path archiveFor(URI feature, String scenarioName) {
+        String featureName = Paths.get(feature.getSchemeSpecificPart()).getFileName().toString()
+            .replaceFirst("\\.feature$", "");
+        return Paths.get(ConfigReader.getNetworkArchiveDir(), fileName(featureName), fileName(scenarioName) + ".har");
+    }
+
+    /**
+     * Starts recording to or replaying from an archive
+     * @param mode record or replay
+     */
+    public void start(String mode, Path archive) {
+        this.archive = archive;
+        this.unmatchedPolicy = ConfigReader.getNetworkReplayUnmatched();
+        this.ignoredParams = new HashSet<>(ConfigReader.getNetworkMatchIgnoredParams());
+        recorded.clear();
+        unmatched.clear();
+        served.set(0);
+        passedThrough.set(0);
+        synchronized (replayable) {
+            replayable.clear();
+            if ("replay".equals(mode)) {
+                List<Exchange> exchanges = readArchive(archive);
+                if (exchanges.isEmpty()) {
+                    log.warn("No recorded network traffic in {}, every request is unmatched", archive);
+                }
+                for (Exchange exchange : exchanges) {
+                    replayable.computeIfAbsent(matchKey(exchange.method, exchange.url), k -> new ArrayDeque<>())
+                        .add(exchange);
+                }
+            }
+        }
+        this.mode = mode;
+
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("urlPattern", "*");
+        pattern.put("requestStage", "record".equals(mode) ? "Response" : "Request");
+        Map<String, Object> params = new HashMap<>();
+        params.put("patterns", Collections.singletonList(pattern));
+        devTools.send(new Command<>("Fetch.enable", params));
+    }
+
+    /**
+     * Stops intercepting; in record mode the captured traffic is merged into the archive
+     * @return Summary of what was recorded or replayed
+     */
+    public String stop() {
+        String stoppedMode = mode;
+        mode = "live";
+        try {
+            devTools.send(new Command<>("Fetch.disable", Collections.emptyMap()));
+        } catch (Exception e) {
+            log.warn("Could not disable network interception: {}", e.getMessage());
+        }
+        if ("record".equals(stoppedMode)) {
+            List<Exchange> exchanges;
+            synchronized (recorded) {
+                exchanges = new ArrayList<>(recorded);
+            }
+            writeArchive(exchanges);
+            return "Network record - " + exchanges.size() + " response(s) saved to " + archive;
+        }
+        return "Network replay - served: " + served.get() + ", unmatched: " + unmatched.size() +
+            " (" + unmatchedPolicy + ")" + ("passthrough".equals(unmatchedPolicy) ? ", went to the network: " +
+            passedThrough.get() : "");
+    }
+
+    /**
+     * Gets the requests replay found no recorded response for since start()
+     */
+    public List<String> getUnmatched() {
+        synchronized (unmatched) {
+            return new ArrayList<>(unmatched);
+        }
+    }
+
+    private void onRequestPaused(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        try {
+            if ("record".equals(mode)) {
+                recordResponse(requestId, params);
+            } else if ("replay".equals(mode)) {
+                replayResponse(requestId, params);
+            } else {
+                continueRequest(requestId);
+            }
+        } catch (Exception e) {
+            // The request may be gone already (e.g. the page navigated away)
+            log.warn("Network {} could not handle request {}: {}", mode, requestId, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordResponse(String requestId, Map<String, Object> params) {
+        Object status = params.get("responseStatusCode");
+        if (params.get("responseErrorReason") != null || !(status instanceof Number)) {
+            continueRequest(requestId);
+            return;
+        }
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        Exchange exchange = new Exchange();
+        exchange.method = String.valueOf(request.get("method"));
+        exchange.url = String.valueOf(request.get("url"));
+        exchange.status = ((Number) status).intValue();
+        exchange.statusText = String.valueOf(params.getOrDefault("responseStatusText", ""));
+        exchange.headers = new ArrayList<>();
+        Object headers = params.get("responseHeaders");
+        if (headers instanceof List) {
+            for (Map<String, Object> header : (List<Map<String, Object>>) headers) {
+                String name = String.valueOf(header.get("name"));
+                if (name.equalsIgnoreCase("content-type")) {
+                    exchange.mimeType = String.valueOf(header.get("value"));
+                }
+                if (!DROPPED_HEADERS.contains(name.toLowerCase())) {
+                    exchange.headers.add(header(name, String.valueOf(header.get("value"))));
+                }
+            }
+        }
+        exchange.body = "";
+        if (exchange.status < 300 || exchange.status >= 400) {
+            try {
+                Map<String, Object> body = devTools.send(new Command<>("Fetch.getResponseBody",
+                    Collections.singletonMap("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+                String text = String.valueOf(body.getOrDefault("body", ""));
+                exchange.body = Boolean.TRUE.equals(body.get("base64Encoded")) ? text :
+                    Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                // Some responses have no body to read (e.g. 204, or preflight requests)
+            }
+        }
+        recorded.add(exchange);
+        continueRequest(requestId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replayResponse(String requestId, Map<String, Object> params) {
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        String method = String.valueOf(request.get("method"));
+        String url = String.valueOf(request.get("url"));
+        Exchange exchange;
+        synchronized (replayable) {
+            Deque<Exchange> responses = replayable.get(matchKey(method, url));
+            // Hand out recorded responses in order, then keep serving the last one
+            exchange = responses == null ? null : responses.size() > 1 ? responses.poll() : responses.peek();
+        }
+        if (exchange != null) {
+            Map<String, Object> fulfill = new HashMap<>();
+            fulfill.put("requestId", requestId);
+            fulfill.put("responseCode", exchange.status);
+            fulfill.put("responseHeaders", exchange.headers);
+            fulfill.put("body", exchange.body);
+            devTools.send(new Command<>("Fetch.fulfillRequest", fulfill));
+            served.incrementAndGet();
+            return;
+        }
+
+        unmatched.add(method + " " + url);
+        if ("passthrough".equals(unmatchedPolicy)) {
+            passedThrough.incrementAndGet();
+            continueRequest(requestId);
+        } else {
+            Map<String, Object> fail = new HashMap<>();
+            fail.put("requestId", requestId);
+            fail.put("errorReason", "BlockedByClient");
+            devTools.send(new Command<>("Fetch.failRequest", fail));
+        }
+    }
+
+    private void continueRequest(String requestId) {
+        devTools.send(new Command<>("Fetch.continueRequest", Collections.singletonMap("requestId", requestId)));
+    }
+
+    /**
+     * Method and URL without the fragment and the ignored query parameters
+     */
+    private String matchKey(String method, String url) {
+        String withoutFragment = url.split("#", 2)[0];
+        int query = withoutFragment.indexOf('?');
+        if (query < 0 || ignoredParams.isEmpty()) {
+            return method + " " + withoutFragment;
+        }
+        StringBuilder key = new StringBuilder(method).append(' ').append(withoutFragment, 0, query);
+        char separator = '?';
+        for (String param : withoutFragment.substring(query + 1).split("&")) {
+            if (!ignoredParams.contains(param.split("=", 2)[0])) {
+                key.append(separator).append(param);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Merges a recording into the archive: responses for requests recorded again are replaced,
+     * so the examples of an outline can each add their own traffic
+     */
+    private void writeArchive(List<Exchange> exchanges) {
+        synchronized (archiveLock) {
+            try {
+                Set<String> rerecorded = new HashSet<>();
+                for (Exchange exchange : exchanges) {
+                    rerecorded.add(matchKey(exchange.method, exchange.url));
+                }
+                List<Map<String, Object>> entries = new ArrayList<>();
+                for (Exchange previous : readArchive(archive)) {
+                    if (!rerecorded.contains(matchKey(previous.method, previous.url))) {
+                        entries.add(previous.toHar());
+                    }
+                }
+                for (Exchange exchange : exchanges) {
+                    entries.add(exchange.toHar());
+                }
+
+                Map<String, Object> creator = new LinkedHashMap<>();
+                creator.put("name", NetworkRecorder.class.getSimpleName());
+                creator.put("version", "1.0");
+                Map<String, Object> log = new LinkedHashMap<>();
+                log.put("version", "1.2");
+                log.put("creator", creator);
+                log.put("entries", entries);
+
+                Files.createDirectories(archive.toAbsolutePath().getParent());
+                Path temp = archive.resolveSibling(archive.getFileName() + ".tmp");
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writer.write(json.toJson(Collections.singletonMap("log", log)));
+                }
+                Files.move(temp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.error("Error writing network archive {}: {}", archive, e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Exchange> readArchive(Path path) {
+        List<Exchange> exchanges = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return exchanges;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Map<String, Object> har = json.toType(reader, Json.MAP_TYPE);
+            Map<String, Object> log = (Map<String, Object>) har.get("log");
+            for (Map<String, Object> entry : (List<Map<String, Object>>) log.get("entries")) {
+                exchanges.add(Exchange.fromHar(entry));
+            }
+        } catch (Exception e) {
+            log.error("Error reading network archive {}: {}", path, e.getMessage());
+        }
+        return exchanges;
+    }
+
+    private static Map<String, Object> header(String name, String value) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("name", name);
+        header.put("value", value);
+        return header;
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+
+    /**
+     * One recorded request and its response
+     */
+    private static class Exchange {
+        private String method;
+        private String url;
+        private int status;
+        private String statusText;
+        private String mimeType = "";
+        private List<Map<String, Object>> headers;
+        private String body;
+
+        private Map<String, Object> toHar() {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("method", method);
+            request.put("url", url);
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("mimeType", mimeType);
+            content.put("size", Base64.getDecoder().decode(body).length);
+            content.put("text", body);
+            content.put("encoding", "base64");
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", status);
+            response.put("statusText", statusText);
+            response.put("headers", headers);
+            response.put("content", content);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("request", request);
+            entry.put("response", response);
+            return entry;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Exchange fromHar(Map<String, Object> entry) {
+            Map<String, Object> request = (Map<String, Object>) entry.get("request");
+            Map<String, Object> response = (Map<String, Object>) entry.get("response");
+            Map<String, Object> content = (Map<String, Object>) response.getOrDefault("content", Collections.emptyMap());
+            Exchange exchange = new Exchange();
+            exchange.method = String.valueOf(request.get("method"));
+            exchange.url = String.valueOf(request.get("url"));
+            exchange.status = ((Number) response.get("status")).intValue();
+            exchange.statusText = String.valueOf(response.getOrDefault("statusText", ""));
+            exchange.mimeType = String.valueOf(content.getOrDefault("mimeType", ""));
+            exchange.headers = (List<Map<String, Object>>) response.getOrDefault("headers", new ArrayList<>());
+            String text = String.valueOf(content.getOrDefault("text", ""));
+            exchange.body = "base64".equals(content.get("encoding")) ? text :
+                Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+            return exchange;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.automation.framework.base;
+
+import com.automation.framework.logging.LogShutdown;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-driver registry of page objects
+ * - Each page class is constructed once per driver and reused by every step
+ * - Tracks navigation and interaction epochs used by the caching element proxies and page snapshots
+ * - Counts element lookups sent to the browser and lookups served from cache
+ * Registries are dropped by release(), or else once their session has been quit
+ */
+public class PageRegistry {
+    
+    private static final Logger log = LogManager.getLogger(PageRegistry.class);
+    
+    // Keyed by session id: page objects hold their driver, so a driver-keyed weak map could never drop them
+    private static final Map<String, PageRegistry> registries = new ConcurrentHashMap<>();
+    
+    private static final AtomicLong remoteFinds = new AtomicLong();
+    private static final AtomicLong cachedFinds = new AtomicLong();
+    private static final AtomicLong staleRelocations = new AtomicLong();
+    
+    static {
+        LogShutdown.addHook("page-registry-stats", () -> log.info(getStats()));
+    }
+    
+    private final WebDriver driver;
+    private final Map<Class<?>, BasePage> pages = new HashMap<>();
+    private final AtomicLong navigationEpoch = new AtomicLong();
+    private final AtomicLong interactionEpoch = new AtomicLong();
+    
+    private PageRegistry(WebDriver driver) {
+        this.driver = driver;
+    }
+    
+    /**
+     * Gets the page object of the given class for a driver, creating it on first use
+     * Page classes must have a public constructor taking a WebDriver
+     */
+    public static <T extends BasePage> T getPage(WebDriver driver, Class<T> pageClass) {
+        return forDriver(driver).getPage(pageClass);
+    }
+    
+    /**
+     * Forgets every page object of a driver
+     * Called when the session ends or is returned to the driver pool
+     */
+    public static void release(WebDriver driver) {
+        registries.remove(keyOf(driver));
+    }
+    
+    /**
+     * Gets a one-line summary of element lookup statistics
+     */
+    public static String getStats() {
+        return "Page registry - remote finds: " + remoteFinds.get() +
+            ", finds avoided (cache hits): " + cachedFinds.get() +
+            ", stale re-locations: " + staleRelocations.get();
+    }
+    
+    static PageRegistry forDriver(WebDriver driver) {
+        String key = keyOf(driver);
+        PageRegistry registry = registries.get(key);
+        if (registry != null) {
+            return registry;
+        }
+        synchronized (registries) {
+            // Drivers quit without going through DriverManager never called release()
+            registries.values().removeIf(existing -> isQuit(existing.driver));
+            return registries.computeIfAbsent(key, k -> new PageRegistry(driver));
+        }
+    }
+    
+    /**
+     * Gets the session id of a (possibly decorated) driver, or an identity key for drivers without one
+     */
+    private static String keyOf(WebDriver driver) {
+        WebDriver unwrapped = unwrap(driver);
+        if (unwrapped instanceof RemoteWebDriver) {
+            SessionId sessionId = ((RemoteWebDriver) unwrapped).getSessionId();
+            if (sessionId != null) {
+                return sessionId.toString();
+            }
+        }
+        return driver.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(driver));
+    }
+    
+    private static boolean isQuit(WebDriver driver) {
+        WebDriver unwrapped = unwrap(driver);
+        return unwrapped instanceof RemoteWebDriver && ((RemoteWebDriver) unwrapped).getSessionId() == null;
+    }
+    
+    private static WebDriver unwrap(WebDriver driver) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        return unwrapped;
+    }
+    
+    private synchronized <T extends BasePage> T getPage(Class<T> pageClass) {
+        BasePage page = pages.get(pageClass);
+        if (page == null) {
+            try {
+                Constructor<T> constructor = pageClass.getConstructor(WebDriver.class);
+                page = constructor.newInstance(driver);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot create page object " + pageClass.getName() +
+                    ", it needs a public constructor taking a WebDriver", e);
+            }
+            pages.put(pageClass, page);
+        }
+        return pageClass.cast(page);
+    }
+    
+    /**
+     * Marks that the browser navigated, so every cached element is re-located
+     */
+    void onNavigation() {
+        navigationEpoch.incrementAndGet();
+        interactionEpoch.incrementAndGet();
+    }
+    
+    /**
+     * Marks that an element was interacted with, so earlier page snapshots are stale
+     */
+    void onInteraction() {
+        interactionEpoch.incrementAndGet();
+    }
+    
+    long getNavigationEpoch() {
+        return navigationEpoch.get();
+    }
+    
+    long getInteractionEpoch() {
+        return interactionEpoch.get();
+    }
+    
+    static void recordRemoteFind() {
+        remoteFinds.incrementAndGet();
+    }
+    
+    static void recordCachedFind() {
+        cachedFinds.incrementAndGet();
+    }
+    
+    static void recordStaleRelocation() {
+        staleRelocations.incrementAndGet();
+    }
+}
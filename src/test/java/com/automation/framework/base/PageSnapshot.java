@@ -0,0 +1,260 @@
+package com.automation.framework.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable copy of a declared part of the page, read in a single executeScript round-trip
+ * - Title, URL and ready state, plus text, visibility and attributes of the declared elements
+ *   (or only how many there are)
+ * - Assertions run against it locally, without further browser calls
+ * - It shows the page as it was at getTakenAt(): isStale() tells whether a page object has since
+ *   navigated or interacted with an element, requireCurrent() fails in that case
+ * Changes made by the page itself (e.g. content loading later) are not detected, wait before taking it
+ * Declare what to read with a Spec and take it with BasePage.takeSnapshot
+ */
+public final class PageSnapshot {
+
+    private static final String SNAPSHOT_SCRIPT = BulkElementReader.FUNCTIONS +
+        "var result = {title: document.title, url: location.href, readyState: document.readyState, elements: {}};" +
+        "arguments[0].forEach(function (query) {" +
+        "  var found = locate(query.strategy, query.value);" +
+        "  result.elements[query.name] = query.countOnly ? found.length" +
+        "    : extract(found, query.attributes, query.fields);" +
+        "});" +
+        "return result;";
+
+    private final String title;
+    private final String url;
+    private final String readyState;
+    private final Instant takenAt;
+    private final Map<String, List<ElementData>> elements;
+    private final Map<String, Integer> counts;
+    private final PageRegistry registry;
+    private final long interactionEpoch;
+
+    private PageSnapshot(String title, String url, String readyState, Instant takenAt,
+                         Map<String, List<ElementData>> elements, Map<String, Integer> counts,
+                         PageRegistry registry, long interactionEpoch) {
+        this.title = title;
+        this.url = url;
+        this.readyState = readyState;
+        this.takenAt = takenAt;
+        this.elements = Collections.unmodifiableMap(elements);
+        this.counts = Collections.unmodifiableMap(counts);
+        this.registry = registry;
+        this.interactionEpoch = interactionEpoch;
+    }
+
+    /**
+     * Reads everything the spec declares in one browser round-trip
+     */
+    @SuppressWarnings("unchecked")
+    static PageSnapshot take(WebDriver driver, PageRegistry registry, Spec spec) {
+        // Read the epoch first, so an interaction racing with the script makes the snapshot stale
+        long epoch = registry.getInteractionEpoch();
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (Query query : spec.queries) {
+            queries.add(query.toScriptArgument());
+        }
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+            .executeScript(SNAPSHOT_SCRIPT, queries);
+        Instant takenAt = Instant.now();
+
+        Map<String, List<ElementData>> elements = new LinkedHashMap<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Map<String, Object> found = (Map<String, Object>) result.get("elements");
+        for (Query query : spec.queries) {
+            Object value = found.get(query.name);
+            if (query.countOnly) {
+                counts.put(query.name, ((Number) value).intValue());
+            } else {
+                List<ElementData> data = Collections.unmodifiableList(BulkElementReader.toElementData(value));
+                elements.put(query.name, data);
+                counts.put(query.name, data.size());
+            }
+        }
+        return new PageSnapshot((String) result.get("title"), (String) result.get("url"),
+            (String) result.get("readyState"), takenAt, elements, counts, registry, epoch);
+    }
+
+    /**
+     * Page title when the snapshot was taken
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Page URL when the snapshot was taken
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * document.readyState when the snapshot was taken (loading, interactive or complete)
+     */
+    public String getReadyState() {
+        return readyState;
+    }
+
+    /**
+     * When the browser returned the snapshot
+     */
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Time elapsed since the snapshot was taken
+     */
+    public Duration getAge() {
+        return Duration.between(takenAt, Instant.now());
+    }
+
+    /**
+     * Checks if a page object navigated or interacted with an element since the snapshot was taken
+     */
+    public boolean isStale() {
+        return registry.getInteractionEpoch() != interactionEpoch;
+    }
+
+    /**
+     * Fails if the snapshot is stale, for assertions that must describe the current page
+     * @return This snapshot
+     */
+    public PageSnapshot requireCurrent() {
+        if (isStale()) {
+            throw new IllegalStateException(this + " is stale, the page was navigated or interacted with since");
+        }
+        return this;
+    }
+
+    /**
+     * Gets the elements read for a declared name, in document order
+     */
+    public List<ElementData> getElements(String name) {
+        List<ElementData> data = elements.get(name);
+        if (data == null) {
+            throw new IllegalArgumentException("'" + name + "' was not declared as an element of this snapshot" +
+                (counts.containsKey(name) ? " (only counted)" : ""));
+        }
+        return data;
+    }
+
+    /**
+     * Gets the first element read for a declared name, or null if none matched
+     */
+    public ElementData getElement(String name) {
+        List<ElementData> data = getElements(name);
+        return data.isEmpty() ? null : data.get(0);
+    }
+
+    /**
+     * Gets how many elements matched a declared name (elements and counts)
+     */
+    public int getCount(String name) {
+        Integer count = counts.get(name);
+        if (count == null) {
+            throw new IllegalArgumentException("'" + name + "' was not declared in this snapshot");
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "PageSnapshot{takenAt=" + takenAt + ", url='" + url + "', title='" + title + "', counts=" + counts + "}";
+    }
+
+    /**
+     * Declares what a snapshot reads; immutable, so pages can keep theirs in a constant
+     * Locators must be standard ones (id, name, class, css, tag, xpath, link text) so the lookup runs in the script
+     */
+    public static final class Spec {
+
+        private final List<Query> queries;
+
+        public Spec() {
+            this(Collections.emptyList());
+        }
+
+        private Spec(List<Query> queries) {
+            this.queries = queries;
+        }
+
+        /**
+         * Reads fields and attributes of every element matching the locator
+         * @param name Name to get the elements by
+         * @param fields Properties to read (text, visibility, bounding box)
+         * @param attributes Attribute names to read
+         */
+        public Spec element(String name, By locator, Set<BulkElementReader.Field> fields, String... attributes) {
+            return with(new Query(name, locator, fields, attributes, false));
+        }
+
+        /**
+         * Reads only how many elements match the locator
+         * @param name Name to get the count by
+         */
+        public Spec count(String name, By locator) {
+            return with(new Query(name, locator, EnumSet.noneOf(BulkElementReader.Field.class), new String[0], true));
+        }
+
+        private Spec with(Query query) {
+            for (Query existing : queries) {
+                if (existing.name.equals(query.name)) {
+                    throw new IllegalArgumentException("'" + query.name + "' is already declared in this snapshot");
+                }
+            }
+            List<Query> extended = new ArrayList<>(queries);
+            extended.add(query);
+            return new Spec(Collections.unmodifiableList(extended));
+        }
+    }
+
+    private static final class Query {
+        private final String name;
+        private final String strategy;
+        private final String value;
+        private final List<String> fields;
+        private final List<String> attributes;
+        private final boolean countOnly;
+
+        private Query(String name, By locator, Set<BulkElementReader.Field> fields, String[] attributes,
+                      boolean countOnly) {
+            String[] strategy = BulkElementReader.strategyOf(locator);
+            if (strategy == null) {
+                throw new IllegalArgumentException("Page snapshots need a standard locator, got " + locator);
+            }
+            this.name = name;
+            this.strategy = strategy[0];
+            this.value = strategy[1];
+            this.fields = BulkElementReader.fieldNames(fields);
+            this.attributes = List.of(attributes);
+            this.countOnly = countOnly;
+        }
+
+        private Map<String, Object> toScriptArgument() {
+            Map<String, Object> argument = new LinkedHashMap<>();
+            argument.put("name", name);
+            argument.put("strategy", strategy);
+            argument.put("value", value);
+            argument.put("fields", fields);
+            argument.put("attributes", attributes);
+            argument.put("countOnly", countOnly);
+            return argument;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import com.automation.framework.metrics.LatencyMetrics;
+import com.automation.framework.utils.VirtualThreads;
+import org.openqa.selenium.Credentials;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UsernameAndPassword;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpClientName;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.openqa.selenium.remote.http.jdk.JdkHttpClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WebDriver wire-protocol client on one shared java.net.http client per connection setting
+ * - Keep-alive connections are pooled across all sessions to the same endpoint, instead of one
+ *   client, connection pool and thread pool per session as with Selenium's default client
+ * - HTTP/2 with http.version=2 where the endpoint supports it (TLS Grid endpoints)
+ * - Read timeout per command with http.command.timeouts (e.g. /url=300 for slow page loads)
+ * - Latency of every command on the wire, by command, under the http metrics category
+ * Selected with http.client=pooled; WebSockets (CDP, BiDi) still go through Selenium's client
+ */
+public class PooledHttpClient implements HttpClient {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect",
+        "host", "upgrade");
+    private static final Map<String, java.net.http.HttpClient> sharedClients = new ConcurrentHashMap<>();
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong timeouts = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+    private static final AtomicLong clients = new AtomicLong();
+    private static volatile ExecutorService executor;
+
+    private final ClientConfig config;
+    private final java.net.http.HttpClient client;
+    private final HttpHandler handler;
+    private final Map<String, Integer> commandTimeouts;
+    private final ReentrantLock socketLock = new ReentrantLock();
+    private HttpClient socketClient;
+
+    private PooledHttpClient(ClientConfig config) {
+        this.config = config;
+        this.client = sharedClient(config);
+        this.handler = config.filter().andFinally(this::send);
+        this.commandTimeouts = ConfigReader.getHttpCommandTimeouts();
+        clients.incrementAndGet();
+    }
+
+    /**
+     * Connection settings for every session, whichever client http.client selects
+     * Local drivers get their service URL added by Selenium
+     */
+    public static ClientConfig clientConfig() {
+        return ClientConfig.defaultConfig()
+            .connectionTimeout(Duration.ofSeconds(ConfigReader.getHttpConnectTimeout()))
+            .readTimeout(Duration.ofSeconds(ConfigReader.getHttpReadTimeout()));
+    }
+
+    /**
+     * Connection settings for a remote endpoint
+     * @param baseUrl Grid endpoint
+     */
+    public static ClientConfig clientConfig(URL baseUrl) {
+        return clientConfig().baseUrl(baseUrl);
+    }
+
+    /**
+     * Gets a one-line summary of client statistics
+     */
+    public static String getStats() {
+        return "WebDriver HTTP - clients: " + clients.get() +
+            ", shared connection pools: " + sharedClients.size() +
+            ", requests: " + requests.get() +
+            ", timeouts: " + timeouts.get() +
+            ", failures: " + failures.get();
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) throws UncheckedIOException {
+        return handler.execute(request);
+    }
+
+    @Override
+    public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        HttpClient sockets;
+        socketLock.lock();
+        try {
+            if (socketClient == null) {
+                socketClient = new JdkHttpClient.Factory().createClient(config);
+            }
+            sockets = socketClient;
+        } finally {
+            socketLock.unlock();
+        }
+        return sockets.openSocket(request, listener);
+    }
+
+    @Override
+    public void close() {
+        // The connection pool is shared with other sessions and stays open
+        socketLock.lock();
+        try {
+            if (socketClient != null) {
+                socketClient.close();
+                socketClient = null;
+            }
+        } finally {
+            socketLock.unlock();
+        }
+    }
+
+    private HttpResponse send(HttpRequest request) {
+        URI uri = resolve(request);
+        String command = commandName(request.getMethod(), uri.getRawPath());
+        Duration timeout = timeoutFor(command);
+
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri).timeout(timeout);
+        request.forEachHeader((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                builder.header(name, value);
+            }
+        });
+        Credentials credentials = config.credentials();
+        if (credentials instanceof UsernameAndPassword) {
+            UsernameAndPassword user = (UsernameAndPassword) credentials;
+            builder.header("Authorization", "Basic " + Base64.getEncoder().encodeToString(
+                (user.username() + ":" + user.password()).getBytes(StandardCharsets.UTF_8)));
+        }
+        HttpMethod method = request.getMethod();
+        boolean hasBody = method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH;
+        builder.method(method.name(), hasBody
+            ? BodyPublishers.ofByteArray(Contents.bytes(request.getContent()))
+            : BodyPublishers.noBody());
+
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            java.net.http.HttpResponse<byte[]> response = client.send(builder.build(), BodyHandlers.ofByteArray());
+            if (ConfigReader.isMetricsEnabled()) {
+                LatencyMetrics.record(LatencyMetrics.HTTP, command, System.nanoTime() - start);
+            }
+            return toResponse(response);
+        } catch (HttpTimeoutException e) {
+            timeouts.incrementAndGet();
+            throw new TimeoutException(command + " got no response within " + timeout.getSeconds() + "s", e);
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for " + command, e);
+        }
+    }
+
+    /**
+     * Builds the absolute URI: base URL (which may have a path, e.g. /wd/hub) plus request path and query
+     */
+    private URI resolve(HttpRequest request) {
+        String target = request.getUri();
+        if (!target.startsWith("http://") && !target.startsWith("https://")) {
+            String base = config.baseUri().toString();
+            target = (base.endsWith("/") ? base.substring(0, base.length() - 1) : base) + target;
+        }
+        StringJoiner query = new StringJoiner("&");
+        for (String name : request.getQueryParameterNames()) {
+            for (String value : request.getQueryParameters(name)) {
+                query.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "=" +
+                    URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        if (query.length() > 0) {
+            target += (target.contains("?") ? "&" : "?") + query;
+        }
+        return URI.create(target);
+    }
+
+    private static HttpResponse toResponse(java.net.http.HttpResponse<byte[]> response) {
+        HttpResponse result = new HttpResponse();
+        result.setStatus(response.statusCode());
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (header.getKey().startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                result.addHeader(header.getKey(), value);
+            }
+        }
+        result.setContent(Contents.bytes(response.body()));
+        result.setTargetHost(response.uri().getHost());
+        return result;
+    }
+
+    /**
+     * Gets the read timeout of a command: the longest http.command.timeouts entry its name ends with,
+     * or http.read.timeout
+     */
+    private Duration timeoutFor(String command) {
+        String matched = null;
+        for (String suffix : commandTimeouts.keySet()) {
+            if (command.endsWith(suffix) && (matched == null || suffix.length() > matched.length())) {
+                matched = suffix;
+            }
+        }
+        return matched != null ? Duration.ofSeconds(commandTimeouts.get(matched)) : config.readTimeout();
+    }
+
+    /**
+     * Names a command by its method and path with session, element and other ids left out,
+     * e.g. POST /session/{id}/element/{id}/click
+     */
+    static String commandName(HttpMethod method, String path) {
+        StringBuilder name = new StringBuilder(method.name()).append(' ');
+        String[] segments = path.split("/");
+        String previous = "";
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            boolean isId = previous.equals("session") || previous.equals("cookie")
+                || ((previous.equals("element") || previous.equals("shadow")) && !segment.equals("active"));
+            name.append('/').append(isId ? "{id}" : segment);
+            previous = isId ? "" : segment;
+        }
+        return name.toString();
+    }
+
+    /**
+     * One client (and so one connection pool) per connection setting, shared by every session
+     */
+    private static java.net.http.HttpClient sharedClient(ClientConfig config) {
+        String key = config.connectionTimeout() + "|" + config.proxy() + "|" + config.sslContext();
+        return sharedClients.computeIfAbsent(key, k -> {
+            applyPoolSettings();
+            java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                .version(ConfigReader.getHttpVersion().equals("2") ? Version.HTTP_2 : Version.HTTP_1_1)
+                .connectTimeout(config.connectionTimeout())
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+                .executor(executor());
+            if (config.proxy() != null) {
+                builder.proxy(new FixedProxySelector(config.proxy()));
+            }
+            if (config.sslContext() != null) {
+                builder.sslContext(config.sslContext());
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * The JDK reads its connection pool limits once, before the first client is built
+     */
+    private static void applyPoolSettings() {
+        int keepAlive = ConfigReader.getHttpKeepAliveTimeout();
+        if (keepAlive > 0 && System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAlive));
+        }
+        int maxConnections = ConfigReader.getHttpPoolMaxConnections();
+        if (maxConnections > 0 && System.getProperty("jdk.httpclient.connectionPoolSize") == null) {
+            System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(maxConnections));
+        }
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (PooledHttpClient.class) {
+                if (executor == null) {
+                    executor = VirtualThreads.isEnabled()
+                        ? VirtualThreads.newVirtualTaskExecutor("webdriver-http")
+                        : Executors.newCachedThreadPool(VirtualThreads.platformFactory("webdriver-http"));
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static class FixedProxySelector extends ProxySelector {
+        private final Proxy proxy;
+
+        private FixedProxySelector(Proxy proxy) {
+            this.proxy = proxy;
+        }
+
+        @Override
+        public List<Proxy> select(URI uri) {
+            return List.of(proxy);
+        }
+
+        @Override
+        public void connectFailed(URI uri, SocketAddress address, IOException e) {
+        }
+    }
+
+    /**
+     * Registered under the name "pooled" (META-INF/services), selected through webdriver.http.factory
+     */
+    @HttpClientName("pooled")
+    public static class Factory implements HttpClient.Factory {
+
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            return new PooledHttpClient(config);
+        }
+    }
+}
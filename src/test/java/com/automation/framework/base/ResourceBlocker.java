@@ -0,0 +1,184 @@
+package com.automation.framework.base;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lean browser mode: blocks heavy resources (images, fonts, media, trackers)
+ * - Launch preferences block images/fonts for the whole session (global lean mode)
+ * - CDP Network.setBlockedURLs blocks resource types and URL patterns per scenario (Chrome/Edge)
+ * - Blocked requests and downloaded bytes are counted from CDP network events
+ */
+public class ResourceBlocker {
+
+    private static final Logger log = LogManager.getLogger(ResourceBlocker.class);
+
+    private static final Map<String, String[]> RESOURCE_TYPE_PATTERNS = new HashMap<>();
+    private static final Map<String, Long> ESTIMATED_BYTES_PER_TYPE = new HashMap<>();
+    private static final Map<WebDriver, ResourceBlocker> blockers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    static {
+        RESOURCE_TYPE_PATTERNS.put("image", new String[]{"png", "jpg", "jpeg", "gif", "webp", "svg", "ico", "avif"});
+        RESOURCE_TYPE_PATTERNS.put("font", new String[]{"woff", "woff2", "ttf", "otf", "eot"});
+        RESOURCE_TYPE_PATTERNS.put("media", new String[]{"mp4", "webm", "ogg", "mp3", "wav", "m4a"});
+
+        // Blocked requests never report a size, savings are estimated from typical payloads
+        ESTIMATED_BYTES_PER_TYPE.put("Image", 25_000L);
+        ESTIMATED_BYTES_PER_TYPE.put("Font", 40_000L);
+        ESTIMATED_BYTES_PER_TYPE.put("Media", 250_000L);
+        ESTIMATED_BYTES_PER_TYPE.put("Script", 30_000L);
+    }
+
+    private final DevTools devTools;
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong estimatedBytesSaved = new AtomicLong();
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+    private final Map<String, AtomicLong> blockedByType = new ConcurrentHashMap<>();
+
+    private ResourceBlocker(DevTools devTools, String windowHandle) {
+        this.devTools = devTools;
+        // Attach to the driver's current window, not to whichever tab CDP lists first
+        devTools.createSessionIfThereIsNotOne(windowHandle);
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE)),
+            this::onLoadingFailed);
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE)),
+            this::onLoadingFinished);
+    }
+
+    /**
+     * Gets the blocker for a driver, creating it on first use
+     * @return Blocker, or null if the driver does not support CDP (e.g. Firefox)
+     */
+    public static ResourceBlocker forDriver(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        ResourceBlocker existing = blockers.get(driver);
+        if (existing != null) {
+            return existing;
+        }
+        // getDevTools() may open the CDP connection, so it runs outside the map's lock
+        ResourceBlocker created = new ResourceBlocker(((HasDevTools) driver).getDevTools(),
+            driver.getWindowHandle());
+        synchronized (blockers) {
+            return blockers.computeIfAbsent(driver, d -> created);
+        }
+    }
+
+    /**
+     * Adds launch preferences that block images for Chrome and Edge
+     */
+    public static void addChromiumPreferences(Map<String, Object> prefs) {
+        if (ConfigReader.getLeanModeBlockedResources().contains("image")) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+    }
+
+    /**
+     * Adds launch preferences that block images, fonts and media for Firefox
+     */
+    public static void addFirefoxPreferences(FirefoxProfile profile) {
+        List<String> resources = ConfigReader.getLeanModeBlockedResources();
+        if (resources.contains("image")) {
+            profile.setPreference("permissions.default.image", 2);
+        }
+        if (resources.contains("font")) {
+            profile.setPreference("gfx.downloadable_fonts.enabled", false);
+        }
+        if (resources.contains("media")) {
+            profile.setPreference("media.autoplay.default", 5);
+            profile.setPreference("media.autoplay.blocking_policy", 2);
+        }
+    }
+
+    /**
+     * Starts blocking the configured resource types and URL patterns
+     * Counters are reset so they cover only what happens from now on
+     */
+    public void enable() {
+        blockedRequests.set(0);
+        estimatedBytesSaved.set(0);
+        bytesDownloaded.set(0);
+        blockedByType.clear();
+
+        List<String> urls = new ArrayList<>();
+        for (String resource : ConfigReader.getLeanModeBlockedResources()) {
+            String[] extensions = RESOURCE_TYPE_PATTERNS.get(resource);
+            if (extensions == null) {
+                continue;
+            }
+            for (String extension : extensions) {
+                urls.add("*." + extension);
+                urls.add("*." + extension + "?*");
+            }
+        }
+        urls.addAll(ConfigReader.getLeanModeBlockedUrls());
+
+        // Enabled here rather than once, as a browser context moves the session to a new tab
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        Map<String, Object> params = new HashMap<>();
+        params.put("urls", urls);
+        devTools.send(new Command<>("Network.setBlockedURLs", params));
+    }
+
+    /**
+     * Stops blocking so a reused session behaves normally for the next scenario
+     * @return Summary of what was blocked since enable()
+     */
+    public String disable() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("urls", Collections.emptyList());
+        try {
+            devTools.send(new Command<>("Network.setBlockedURLs", params));
+        } catch (Exception e) {
+            log.warn("Could not clear blocked URLs: {}", e.getMessage());
+        }
+        return getSummary();
+    }
+
+    /**
+     * Gets a one-line summary of blocked requests and bytes
+     */
+    public String getSummary() {
+        Map<String, Long> byType = new TreeMap<>();
+        blockedByType.forEach((type, count) -> byType.put(type, count.get()));
+        return "Lean mode - blocked requests: " + blockedRequests.get() + " " + byType +
+            ", estimated bytes saved: " + estimatedBytesSaved.get() / 1024 + " KB" +
+            ", bytes downloaded: " + bytesDownloaded.get() / 1024 + " KB";
+    }
+
+    private void onLoadingFailed(Map<String, Object> params) {
+        if (params.get("blockedReason") == null) {
+            return;
+        }
+        String type = String.valueOf(params.getOrDefault("type", "Other"));
+        blockedRequests.incrementAndGet();
+        blockedByType.computeIfAbsent(type, t -> new AtomicLong()).incrementAndGet();
+        estimatedBytesSaved.addAndGet(ESTIMATED_BYTES_PER_TYPE.getOrDefault(type, 10_000L));
+    }
+
+    private void onLoadingFinished(Map<String, Object> params) {
+        Object length = params.get("encodedDataLength");
+        if (length instanceof Number) {
+            bytesDownloaded.addAndGet(((Number) length).longValue());
+        }
+    }
+}
@@ -1,133 +1,631 @@
 package com.automation.framework.config;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Class to read configuration properties
+ * Configuration is resolved once at startup into an immutable ConfigSnapshot
+ * from the following layers (later layers win):
+ * - Built-in defaults
+ * - config/config.properties from the classpath (or -Dconfig.file)
+ * - config/config-[profile].properties for the profile named by config.profile
+ * - Environment variables (key upper-cased, dots as underscores, e.g. EXPLICIT_WAIT)
+ * - System properties (-Dkey=value)
+ * Threads can apply their own overrides on top (e.g. a different browser per worker)
  */
 public class ConfigReader {
-    
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/test/resources/config/config.properties";
-    
+
+    private static final Logger log = LogManager.getLogger(ConfigReader.class);
+
+    private static final String CONFIG_RESOURCE = "config/config.properties";
+    private static final String PROFILE_RESOURCE = "config/config-%s.properties";
+
+    private static final ConfigSnapshot snapshot;
+    private static final ThreadLocal<ConfigSnapshot> threadSnapshot = new ThreadLocal<>();
+
     static {
-        try {
-            FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH);
-            properties = new Properties();
-            properties.load(fis);
-            fis.close();
+        snapshot = load();
+        log.info(snapshot.getValidationReport());
+    }
+
+    /**
+     * Gets the configuration snapshot for the current thread
+     */
+    public static ConfigSnapshot get() {
+        ConfigSnapshot override = threadSnapshot.get();
+        return override != null ? override : snapshot;
+    }
+
+    /**
+     * Applies configuration overrides for the current thread only
+     */
+    public static void setThreadOverrides(Map<String, String> overrides) {
+        threadSnapshot.set(snapshot.withOverrides(overrides, "thread override"));
+    }
+
+    /**
+     * Removes the current thread's configuration overrides
+     */
+    public static void clearThreadOverrides() {
+        threadSnapshot.remove();
+    }
+
+    /**
+     * Resolves every configuration layer into a snapshot
+     */
+    private static ConfigSnapshot load() {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+        put(values, sources, ConfigSnapshot.DEFAULTS, "default");
+
+        String configFile = System.getProperty("config.file");
+        if (configFile != null) {
+            put(values, sources, loadFile(configFile), "file:" + configFile);
+        } else {
+            put(values, sources, loadResource(CONFIG_RESOURCE), "classpath:" + CONFIG_RESOURCE);
+        }
+
+        String profile = firstNonEmpty(System.getProperty("config.profile"), System.getenv("CONFIG_PROFILE"),
+            values.get("config.profile"));
+        if (profile != null) {
+            String profileResource = String.format(PROFILE_RESOURCE, profile);
+            put(values, sources, loadResource(profileResource), "profile:" + profileResource);
+        }
+
+        // Environment and -D overrides apply to every key known so far
+        Set<String> keys = new LinkedHashSet<>(values.keySet());
+        for (String key : keys) {
+            String envValue = System.getenv(key.toUpperCase().replace('.', '_').replace('-', '_'));
+            if (envValue != null) {
+                values.put(key, envValue);
+                sources.put(key, "env");
+            }
+            String systemValue = System.getProperty(key);
+            if (systemValue != null) {
+                values.put(key, systemValue);
+                sources.put(key, "system property");
+            }
+        }
+
+        return new ConfigSnapshot(values, sources);
+    }
+
+    private static void put(Map<String, String> values, Map<String, String> sources,
+                            Map<String, String> layer, String source) {
+        for (Map.Entry<String, String> entry : layer.entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+            sources.put(entry.getKey(), source);
+        }
+    }
+
+    private static Map<String, String> loadResource(String resource) {
+        try (InputStream in = ConfigReader.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new RuntimeException("Failed to load configuration file: " + resource + " (not on classpath)");
+            }
+            return toMap(in);
         } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to load configuration file: " + CONFIG_FILE_PATH);
+            throw new RuntimeException("Failed to load configuration file: " + resource, e);
         }
     }
-    
+
+    private static Map<String, String> loadFile(String path) {
+        try (InputStream in = new FileInputStream(path)) {
+            return toMap(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration file: " + path, e);
+        }
+    }
+
+    private static Map<String, String> toMap(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            map.put(name, properties.getProperty(name));
+        }
+        return map;
+    }
+
+    private static String firstNonEmpty(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.trim().isEmpty()) {
+                return candidate.trim();
+            }
+        }
+        return null;
+    }
+
     /**
-     * Gets a property from the configuration file
+     * Gets a property from the configuration
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return get().get(key);
     }
-    
+
     /**
      * Gets the configured browser
      */
     public static String getBrowser() {
-        String browser = properties.getProperty("browser");
-        return browser != null ? browser : "chrome";
+        return get().getBrowser();
     }
-    
+
     /**
      * Gets the configured base URL
      */
     public static String getBaseUrl() {
-        return properties.getProperty("base.url");
+        return get().getBaseUrl();
     }
-    
+
     /**
      * Checks if screenshots should be taken on test failure
      */
     public static boolean takeScreenshotOnFailure() {
-        String value = properties.getProperty("take.screenshot.on.failure");
-        return value == null || Boolean.parseBoolean(value); // Default to true
+        return get().isScreenshotOnFailure();
     }
-    
+
     /**
      * Checks if screenshots should be taken on test pass
      */
     public static boolean takeScreenshotOnPass() {
-        String value = properties.getProperty("take.screenshot.on.pass");
-        return value != null && Boolean.parseBoolean(value); // Default to false
+        return get().isScreenshotOnPass();
     }
-    
+
     /**
      * Gets the screenshot directory path
+     * Defaults to the screenshots directory inside extent.report.path
      */
     public static String getScreenshotPath() {
-        String path = properties.getProperty("screenshot.path");
-        return path != null ? path : "target/screenshots";
+        return get().getScreenshotPath();
+    }
+
+    /**
+     * Gets the screenshot file format (png or jpg)
+     */
+    public static String getScreenshotFormat() {
+        return get().getScreenshotFormat();
+    }
+    
+    /**
+     * Gets the JPEG quality used for screenshots (0-1)
+     */
+    public static float getScreenshotQuality() {
+        return get().getScreenshotQuality();
+    }
+    
+    /**
+     * Gets the width screenshots are scaled down to (0 keeps the original size)
+     */
+    public static int getScreenshotMaxWidth() {
+        return get().getScreenshotMaxWidth();
+    }
+    
+    /**
+     * Gets the number of background threads encoding and writing screenshots
+     */
+    public static int getScreenshotThreads() {
+        return get().getScreenshotThreads();
     }
     
     /**
      * Gets the ExtentReports output directory path
      */
     public static String getExtentReportPath() {
-        String path = properties.getProperty("extent.report.path");
-        return path != null ? path : "test-output/ExtentReports";
+        return get().getExtentReportPath();
     }
-    
+
     /**
      * Gets the number of ExtentReports to retain
      */
     public static int getExtentReportRetentionCount() {
-        String value = properties.getProperty("extent.report.retention.count");
-        try {
-            return value != null ? Integer.parseInt(value) : 10; // Default to 10
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid retention count, using default: 10");
-            return 10;
-        }
+        return get().getExtentReportRetentionCount();
     }
-    
+
+    /**
+     * Gets the age in days after which archived reports are deleted (0 = keep)
+     */
+    public static int getExtentReportArchiveMaxAgeDays() {
+        return get().getExtentReportArchiveMaxAgeDays();
+    }
+
+    /**
+     * Gets the size in MB the report archive is trimmed to, oldest first (0 = no limit)
+     */
+    public static int getExtentReportArchiveMaxMb() {
+        return get().getExtentReportArchiveMaxMb();
+    }
+
+    /**
+     * Gets the directory the reporting event log and streamed reports are written to
+     */
+    public static String getReportEventsPath() {
+        return get().getReportEventsPath();
+    }
+
+    /**
+     * Gets the maximum number of reporting events queued before publishers wait
+     */
+    public static int getReportEventsCapacity() {
+        return get().getReportEventsCapacity();
+    }
+
+    /**
+     * Gets the reporting sinks (jsonl, junit or ReportSink class names)
+     */
+    public static List<String> getReportSinks() {
+        return get().getReportSinks();
+    }
+
+    /**
+     * Checks if WebDriver commands and steps are timed into latency histograms
+     */
+    public static boolean isMetricsEnabled() {
+        return get().isMetricsEnabled();
+    }
+
+    /**
+     * Gets the directory latency metrics (CSV and Prometheus) are exported to
+     */
+    public static String getMetricsPath() {
+        return get().getMetricsPath();
+    }
+
+    /**
+     * Gets the directory the logs of failed scenarios are written to
+     */
+    public static String getScenarioLogPath() {
+        return get().getScenarioLogPath();
+    }
+
+    /**
+     * Gets what happens when a step breaks the round-trip budget (off, warn or fail)
+     */
+    public static String getRoundTripBudgetMode() {
+        return get().getRoundTripBudgetMode();
+    }
+
+    /**
+     * Gets the maximum number of WebDriver round trips a step may make (0 = no limit)
+     */
+    public static int getRoundTripBudgetPerStep() {
+        return get().getRoundTripBudgetPerStep();
+    }
+
+    /**
+     * Gets how many lookups with the same locator in one step count as an N+1 pattern
+     */
+    public static int getRoundTripRepeatThreshold() {
+        return get().getRoundTripRepeatThreshold();
+    }
+
+    /**
+     * Checks if scenarios are ordered longest first, using durations from previous runs
+     */
+    public static boolean isSchedulingEnabled() {
+        return get().isSchedulingEnabled();
+    }
+
+    /**
+     * Gets the file scenario durations are kept in between runs
+     */
+    public static String getSchedulingHistoryFile() {
+        return get().getSchedulingHistoryFile();
+    }
+
+    /**
+     * Gets the estimated duration of a scenario with no history when nothing else is known
+     */
+    public static int getSchedulingDefaultEstimateMillis() {
+        return get().getSchedulingDefaultEstimateMillis();
+    }
+
+    /**
+     * Gets how many times a failed scenario is rerun after the main pass (0 = no reruns, the default)
+     */
+    public static int getRerunMaxRetries() {
+        return get().getRerunMaxRetries();
+    }
+
+    /**
+     * Checks if reruns always get a new browser instead of a pooled one
+     */
+    public static boolean isRerunFreshBrowser() {
+        return get().isRerunFreshBrowser();
+    }
+
+    /**
+     * Gets the shard this JVM runs, from 0 to shard.total - 1
+     */
+    public static int getShardIndex() {
+        return get().getShardIndex();
+    }
+
+    /**
+     * Gets the number of shards the scenarios are split into (1 = no sharding)
+     */
+    public static int getShardTotal() {
+        return get().getShardTotal();
+    }
+
+    /**
+     * Gets how scenarios are split into shards (hash or duration)
+     */
+    public static String getShardStrategy() {
+        return get().getShardStrategy();
+    }
+
     /**
      * Gets the implicit wait timeout in seconds
      */
     public static int getImplicitWait() {
-        String value = properties.getProperty("implicit.wait");
-        try {
-            return value != null ? Integer.parseInt(value) : 10; // Default to 10 seconds
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid implicit wait value, using default: 10 seconds");
-            return 10;
-        }
+        return get().getImplicitWait();
     }
-    
+
     /**
      * Gets the explicit wait timeout in seconds
      */
     public static int getExplicitWait() {
-        String value = properties.getProperty("explicit.wait");
-        try {
-            return value != null ? Integer.parseInt(value) : 15; // Default to 15 seconds
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid explicit wait value, using default: 15 seconds");
-            return 15;
-        }
+        return get().getExplicitWait();
     }
-    
+
     /**
      * Gets the page load timeout in seconds
      */
     public static int getPageLoadTimeout() {
-        String value = properties.getProperty("page.load.timeout");
-        try {
-            return value != null ? Integer.parseInt(value) : 30; // Default to 30 seconds
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid page load timeout value, using default: 30 seconds");
-            return 30;
-        }
+        return get().getPageLoadTimeout();
+    }
+
+    /**
+     * Checks if explicit waits are event-driven (wait.strategy=event) rather than polling
+     * Either way the implicit wait is suspended while they run (WaitUtil.newWait)
+     */
+    public static boolean isEventDrivenWait() {
+        return get().isEventDrivenWait();
+    }
+    
+    /**
+     * Gets the maximum time in milliseconds a single browser-side wait blocks before re-checking
+     */
+    public static int getWaitMaxSliceMillis() {
+        return get().getWaitMaxSliceMillis();
+    }
+    
+    /**
+     * Checks if WebDriver sessions should be reused across scenarios
+     */
+    public static boolean isDriverPoolEnabled() {
+        return get().isDriverPoolEnabled();
+    }
+
+    /**
+     * Gets the maximum number of idle sessions kept in the driver pool
+     */
+    public static int getDriverPoolMaxSize() {
+        return get().getDriverPoolMaxSize();
     }
-}
 
+    /**
+     * Gets the number of scenarios a pooled session may serve before it is quit
+     */
+    public static int getDriverPoolMaxUses() {
+        return get().getDriverPoolMaxUses();
+    }
+
+    /**
+     * Gets the idle time in seconds after which a pooled session is quit
+     */
+    public static int getDriverPoolIdleTimeout() {
+        return get().getDriverPoolIdleTimeout();
+    }
+
+    /**
+     * Gets the tag that makes a scenario bypass the driver pool
+     */
+    public static String getDriverPoolFreshTag() {
+        return get().getDriverPoolFreshTag();
+    }
+
+    /**
+     * Checks if each scenario runs in its own browser context inside a pooled browser process
+     */
+    public static boolean isBrowserContextsEnabled() {
+        return get().isBrowserContextsEnabled();
+    }
+
+    /**
+     * Checks if scenarios should run in parallel
+     */
+    public static boolean isParallelEnabled() {
+        return get().isParallelEnabled();
+    }
+
+    /**
+     * Gets the number of threads used to run scenarios in parallel
+     * Defaults to the number of available cores
+     */
+    public static int getParallelThreadCount() {
+        return get().getParallelThreadCount();
+    }
+
+    /**
+     * Checks if the scenarios and the framework's background work run on virtual threads (Java 21+)
+     */
+    public static boolean isVirtualThreadsEnabled() {
+        return get().isVirtualThreadsEnabled();
+    }
+
+    /**
+     * Checks if driver resolution must stay offline (no downloads, fail fast)
+     */
+    public static boolean isDriverOffline() {
+        return get().isDriverOffline();
+    }
+
+    /**
+     * Gets the pre-provisioned driver binary path for a browser (driver.path.chrome, ...)
+     * @return Driver path, or null if none is configured
+     */
+    public static String getDriverPath(String browser) {
+        String path = get().get("driver.path." + browser.toLowerCase());
+        return path != null && !path.trim().isEmpty() ? path.trim() : null;
+    }
+
+    /**
+     * Gets the directory of the driver resolution cache shared between JVMs
+     */
+    public static String getDriverCacheDir() {
+        return get().getDriverCacheDir();
+    }
+
+    /**
+     * Gets the driver resolution network timeout in seconds
+     */
+    public static int getDriverResolutionTimeout() {
+        return get().getDriverResolutionTimeout();
+    }
+
+    /**
+     * Checks if lean mode (blocking heavy resources) is enabled for every scenario
+     */
+    public static boolean isLeanModeEnabled() {
+        return get().isLeanModeEnabled();
+    }
+
+    /**
+     * Gets the tag that enables lean mode for a single scenario
+     */
+    public static String getLeanModeTag() {
+        return get().getLeanModeTag();
+    }
+
+    /**
+     * Gets the resource types blocked in lean mode (image, font, media)
+     */
+    public static List<String> getLeanModeBlockedResources() {
+        return get().getLeanModeBlockedResources();
+    }
+
+    /**
+     * Gets the URL patterns blocked in lean mode (wildcards allowed)
+     */
+    public static List<String> getLeanModeBlockedUrls() {
+        return get().getLeanModeBlockedUrls();
+    }
+
+    /**
+     * Gets the network mode: live, record (save responses to the archive) or replay (serve them from it)
+     */
+    public static String getNetworkMode() {
+        return get().getNetworkMode();
+    }
+
+    /**
+     * Gets the directory holding the recorded network archives (one .har file per scenario)
+     */
+    public static String getNetworkArchiveDir() {
+        return get().getNetworkArchiveDir();
+    }
+
+    /**
+     * Gets what replay does with requests missing from the archive: block, passthrough or fail
+     */
+    public static String getNetworkReplayUnmatched() {
+        return get().getNetworkReplayUnmatched();
+    }
+
+    /**
+     * Gets the query parameters ignored when matching requests against the archive
+     */
+    public static List<String> getNetworkMatchIgnoredParams() {
+        return get().getNetworkMatchIgnoredParams();
+    }
+
+    /**
+     * Gets the DriverFactory used to create sessions (local, grid or a class name)
+     */
+    public static String getDriverFactory() {
+        return get().getDriverFactory();
+    }
+
+    /**
+     * Gets the Selenium Grid endpoints used by the grid driver factory
+     */
+    public static List<String> getGridUrls() {
+        return get().getGridUrls();
+    }
+
+    /**
+     * Gets the maximum number of concurrent sessions opened on each Grid node
+     */
+    public static int getGridMaxSessionsPerNode() {
+        return get().getGridMaxSessionsPerNode();
+    }
+
+    /**
+     * Gets how long to wait for free Grid capacity, in seconds
+     */
+    public static int getGridSessionWaitTimeout() {
+        return get().getGridSessionWaitTimeout();
+    }
+
+    /**
+     * Gets the HTTP client for the WebDriver protocol: default (Selenium's), pooled, or another
+     * registered HttpClient.Factory name
+     */
+    public static String getHttpClient() {
+        return get().getHttpClient();
+    }
+
+    /**
+     * Gets the HTTP version the pooled client prefers (1.1 or 2)
+     */
+    public static String getHttpVersion() {
+        return get().getHttpVersion();
+    }
+
+    /**
+     * Gets the timeout for opening a connection to a driver or Grid node (seconds)
+     */
+    public static int getHttpConnectTimeout() {
+        return get().getHttpConnectTimeout();
+    }
+
+    /**
+     * Gets the default time to wait for a command's response (seconds)
+     */
+    public static int getHttpReadTimeout() {
+        return get().getHttpReadTimeout();
+    }
+
+    /**
+     * Gets per-command read timeouts of the pooled client, by command path suffix (seconds)
+     */
+    public static Map<String, Integer> getHttpCommandTimeouts() {
+        return get().getHttpCommandTimeouts();
+    }
+
+    /**
+     * Gets how long idle pooled connections are kept open (seconds, 0 = JDK default)
+     */
+    public static int getHttpKeepAliveTimeout() {
+        return get().getHttpKeepAliveTimeout();
+    }
+
+    /**
+     * Gets the maximum number of idle pooled connections (0 = unlimited)
+     */
+    public static int getHttpPoolMaxConnections() {
+        return get().getHttpPoolMaxConnections();
+    }
+}
@@ -0,0 +1,480 @@
+package com.automation.framework.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, typed view of the resolved configuration
+ * Every value is parsed once when the snapshot is built, so getters are plain field reads
+ * Each key remembers the layer it came from (default, file, profile, env, -D, thread override)
+ */
+public final class ConfigSnapshot {
+
+    /**
+     * Built-in defaults, the lowest configuration layer
+     */
+    static final Map<String, String> DEFAULTS;
+
+    static {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("browser", "chrome");
+        defaults.put("base.url", "");
+        defaults.put("implicit.wait", "10");
+        defaults.put("explicit.wait", "15");
+        defaults.put("page.load.timeout", "30");
+        defaults.put("wait.strategy", "event");
+        defaults.put("wait.max.slice.ms", "500");
+        defaults.put("take.screenshot.on.failure", "true");
+        defaults.put("take.screenshot.on.pass", "false");
+        defaults.put("screenshot.path", "");
+        defaults.put("screenshot.format", "jpg");
+        defaults.put("screenshot.quality", "0.75");
+        defaults.put("screenshot.max.width", "1280");
+        defaults.put("screenshot.threads", "1");
+        defaults.put("extent.report.path", "test-output/ExtentReports");
+        defaults.put("extent.report.retention.count", "10");
+        defaults.put("extent.report.archive.max.age.days", "30");
+        defaults.put("extent.report.archive.max.mb", "500");
+        defaults.put("report.events.path", "test-output/events");
+        defaults.put("report.events.capacity", "8192");
+        defaults.put("report.sinks", "jsonl,junit");
+        defaults.put("metrics.enabled", "false");
+        defaults.put("metrics.path", "test-output/metrics");
+        defaults.put("scenario.log.path", "test-output/logs");
+        defaults.put("roundtrip.budget.mode", "warn");
+        defaults.put("roundtrip.budget.per.step", "40");
+        defaults.put("roundtrip.repeat.threshold", "3");
+        defaults.put("scheduling.enabled", "true");
+        defaults.put("scheduling.history.file", "test-output/history/scenario-durations.properties");
+        defaults.put("scheduling.default.estimate.ms", "30000");
+        defaults.put("rerun.max.retries", "0");
+        defaults.put("rerun.fresh.browser", "true");
+        defaults.put("shard.index", "0");
+        defaults.put("shard.total", "1");
+        defaults.put("shard.strategy", "hash");
+        defaults.put("parallel.enabled", "false");
+        defaults.put("parallel.thread.count", "");
+        defaults.put("threads.virtual", "false");
+        defaults.put("driver.factory", "local");
+        defaults.put("grid.urls", "");
+        defaults.put("grid.max.sessions.per.node", "4");
+        defaults.put("grid.session.wait.timeout", "120");
+        defaults.put("driver.offline", "false");
+        defaults.put("driver.cache.dir", "");
+        defaults.put("driver.resolution.timeout", "30");
+        defaults.put("http.client", "default");
+        defaults.put("http.version", "1.1");
+        defaults.put("http.connect.timeout", "10");
+        defaults.put("http.read.timeout", "180");
+        defaults.put("http.command.timeouts", "");
+        defaults.put("http.keepalive.timeout", "");
+        defaults.put("http.pool.max.connections", "");
+        defaults.put("driver.pool.enabled", "false");
+        defaults.put("driver.pool.max.size", "4");
+        defaults.put("driver.pool.max.uses", "50");
+        defaults.put("driver.pool.idle.timeout", "300");
+        defaults.put("driver.pool.fresh.tag", "@FreshBrowser");
+        defaults.put("browser.contexts.enabled", "false");
+        defaults.put("lean.mode.enabled", "false");
+        defaults.put("lean.mode.tag", "@Lean");
+        defaults.put("lean.mode.blocked.resources", "image,font,media");
+        defaults.put("lean.mode.blocked.urls", "");
+        defaults.put("network.mode", "live");
+        defaults.put("network.archive.dir", "src/test/resources/network");
+        defaults.put("network.replay.unmatched", "block");
+        defaults.put("network.match.ignored.params", "");
+        DEFAULTS = Collections.unmodifiableMap(defaults);
+    }
+
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+    private final List<String> warnings = new ArrayList<>();
+
+    private final String browser;
+    private final String baseUrl;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int pageLoadTimeout;
+    private final boolean eventDrivenWait;
+    private final int waitMaxSliceMillis;
+    private final boolean screenshotOnFailure;
+    private final boolean screenshotOnPass;
+    private final String screenshotPath;
+    private final String screenshotFormat;
+    private final float screenshotQuality;
+    private final int screenshotMaxWidth;
+    private final int screenshotThreads;
+    private final String extentReportPath;
+    private final int extentReportRetentionCount;
+    private final int extentReportArchiveMaxAgeDays;
+    private final int extentReportArchiveMaxMb;
+    private final String reportEventsPath;
+    private final int reportEventsCapacity;
+    private final List<String> reportSinks;
+    private final boolean metricsEnabled;
+    private final String metricsPath;
+    private final String scenarioLogPath;
+    private final String roundTripBudgetMode;
+    private final int roundTripBudgetPerStep;
+    private final int roundTripRepeatThreshold;
+    private final boolean schedulingEnabled;
+    private final String schedulingHistoryFile;
+    private final int schedulingDefaultEstimateMillis;
+    private final int rerunMaxRetries;
+    private final boolean rerunFreshBrowser;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final String shardStrategy;
+    private final boolean parallelEnabled;
+    private final boolean virtualThreadsEnabled;
+    private final int parallelThreadCount;
+    private final String driverFactory;
+    private final List<String> gridUrls;
+    private final int gridMaxSessionsPerNode;
+    private final int gridSessionWaitTimeout;
+    private final boolean driverOffline;
+    private final String driverCacheDir;
+    private final int driverResolutionTimeout;
+    private final String httpClient;
+    private final String httpVersion;
+    private final int httpConnectTimeout;
+    private final int httpReadTimeout;
+    private final Map<String, Integer> httpCommandTimeouts;
+    private final int httpKeepAliveTimeout;
+    private final int httpPoolMaxConnections;
+    private final boolean driverPoolEnabled;
+    private final int driverPoolMaxSize;
+    private final int driverPoolMaxUses;
+    private final int driverPoolIdleTimeout;
+    private final String driverPoolFreshTag;
+    private final boolean browserContextsEnabled;
+    private final boolean leanModeEnabled;
+    private final String leanModeTag;
+    private final List<String> leanModeBlockedResources;
+    private final List<String> leanModeBlockedUrls;
+    private final String networkMode;
+    private final String networkArchiveDir;
+    private final String networkReplayUnmatched;
+    private final List<String> networkMatchIgnoredParams;
+
+    /**
+     * @param values Resolved value of every key
+     * @param sources Layer each key was resolved from
+     */
+    ConfigSnapshot(Map<String, String> values, Map<String, String> sources) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        this.sources = Collections.unmodifiableMap(new LinkedHashMap<>(sources));
+
+        browser = string("browser").toLowerCase();
+        baseUrl = string("base.url");
+        implicitWait = integer("implicit.wait");
+        explicitWait = integer("explicit.wait");
+        pageLoadTimeout = integer("page.load.timeout");
+        eventDrivenWait = !string("wait.strategy").equalsIgnoreCase("polling");
+        waitMaxSliceMillis = integer("wait.max.slice.ms");
+        screenshotOnFailure = bool("take.screenshot.on.failure");
+        screenshotOnPass = bool("take.screenshot.on.pass");
+        screenshotFormat = imageFormat("screenshot.format");
+        screenshotQuality = fraction("screenshot.quality");
+        screenshotMaxWidth = integer("screenshot.max.width");
+        screenshotThreads = positiveIntegerOr("screenshot.threads", 1);
+        int total = positiveIntegerOr("shard.total", 1);
+        int index = integer("shard.index");
+        // Falling back to all scenarios would silently rerun the whole suite on this agent
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("Invalid shard.index " + index + " for shard.total " + total +
+                " (expected 0 to " + (total - 1) + ")");
+        }
+        shardTotal = total;
+        shardIndex = index;
+        shardStrategy = oneOf("shard.strategy", "hash", "duration");
+        extentReportPath = shardPath(string("extent.report.path"));
+        // Next to the reports by default, so they survive mvn clean along with them
+        screenshotPath = string("screenshot.path").isEmpty() ? extentReportPath + "/screenshots"
+            : string("screenshot.path");
+        extentReportRetentionCount = integer("extent.report.retention.count");
+        extentReportArchiveMaxAgeDays = Math.max(0, integer("extent.report.archive.max.age.days"));
+        extentReportArchiveMaxMb = Math.max(0, integer("extent.report.archive.max.mb"));
+        reportEventsPath = shardPath(string("report.events.path"));
+        reportEventsCapacity = positiveIntegerOr("report.events.capacity", 8192);
+        reportSinks = list("report.sinks");
+        metricsEnabled = bool("metrics.enabled");
+        metricsPath = shardPath(string("metrics.path"));
+        scenarioLogPath = shardPath(string("scenario.log.path"));
+        roundTripBudgetMode = oneOf("roundtrip.budget.mode", "off", "warn", "fail");
+        roundTripBudgetPerStep = integer("roundtrip.budget.per.step");
+        roundTripRepeatThreshold = positiveIntegerOr("roundtrip.repeat.threshold", 3);
+        schedulingEnabled = bool("scheduling.enabled");
+        schedulingHistoryFile = string("scheduling.history.file");
+        schedulingDefaultEstimateMillis = positiveIntegerOr("scheduling.default.estimate.ms", 30000);
+        rerunMaxRetries = Math.max(0, integer("rerun.max.retries"));
+        rerunFreshBrowser = bool("rerun.fresh.browser");
+        parallelEnabled = bool("parallel.enabled");
+        virtualThreadsEnabled = bool("threads.virtual");
+        parallelThreadCount = positiveIntegerOr("parallel.thread.count", Runtime.getRuntime().availableProcessors());
+        driverFactory = string("driver.factory");
+        gridUrls = list("grid.urls");
+        gridMaxSessionsPerNode = integer("grid.max.sessions.per.node");
+        gridSessionWaitTimeout = integer("grid.session.wait.timeout");
+        driverOffline = bool("driver.offline");
+        driverCacheDir = string("driver.cache.dir").isEmpty()
+            ? System.getProperty("user.home") + "/.cache/automation-framework/drivers"
+            : string("driver.cache.dir");
+        driverResolutionTimeout = integer("driver.resolution.timeout");
+        httpClient = string("http.client");
+        httpVersion = oneOf("http.version", "1.1", "2");
+        httpConnectTimeout = integer("http.connect.timeout");
+        httpReadTimeout = integer("http.read.timeout");
+        httpCommandTimeouts = secondsByName("http.command.timeouts");
+        httpKeepAliveTimeout = positiveIntegerOr("http.keepalive.timeout", 0);
+        httpPoolMaxConnections = positiveIntegerOr("http.pool.max.connections", 0);
+        driverPoolEnabled = bool("driver.pool.enabled");
+        driverPoolMaxSize = integer("driver.pool.max.size");
+        driverPoolMaxUses = integer("driver.pool.max.uses");
+        driverPoolIdleTimeout = integer("driver.pool.idle.timeout");
+        driverPoolFreshTag = string("driver.pool.fresh.tag");
+        browserContextsEnabled = bool("browser.contexts.enabled");
+        leanModeEnabled = bool("lean.mode.enabled");
+        leanModeTag = string("lean.mode.tag");
+        leanModeBlockedResources = list("lean.mode.blocked.resources");
+        leanModeBlockedUrls = list("lean.mode.blocked.urls");
+        networkMode = oneOf("network.mode", "live", "record", "replay");
+        networkArchiveDir = string("network.archive.dir");
+        networkReplayUnmatched = oneOf("network.replay.unmatched", "block", "passthrough", "fail");
+        networkMatchIgnoredParams = list("network.match.ignored.params");
+    }
+
+    /**
+     * Creates a copy of this snapshot with some keys replaced
+     * Used for per-thread overrides, e.g. a different browser per worker
+     */
+    public ConfigSnapshot withOverrides(Map<String, String> overrides, String source) {
+        Map<String, String> newValues = new LinkedHashMap<>(values);
+        Map<String, String> newSources = new LinkedHashMap<>(sources);
+        for (Map.Entry<String, String> override : overrides.entrySet()) {
+            newValues.put(override.getKey(), override.getValue());
+            newSources.put(override.getKey(), source);
+        }
+        return new ConfigSnapshot(newValues, newSources);
+    }
+
+    /**
+     * Gets the raw value of any key, or null if it is not defined
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Gets the layer a key was resolved from, or null if it is not defined
+     */
+    public String getSource(String key) {
+        return sources.get(key);
+    }
+
+    /**
+     * Lists every resolved key, its value and where it came from,
+     * followed by any value that was rejected in favour of its default
+     */
+    public String getValidationReport() {
+        StringBuilder report = new StringBuilder("Resolved configuration:");
+        for (Map.Entry<String, String> entry : new TreeMap<>(values).entrySet()) {
+            report.append(System.lineSeparator())
+                .append("  ").append(entry.getKey()).append(" = ").append(entry.getValue())
+                .append("  [").append(sources.get(entry.getKey())).append("]");
+        }
+        for (String warning : warnings) {
+            report.append(System.lineSeparator()).append("  WARNING: ").append(warning);
+        }
+        return report.toString();
+    }
+
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    public String getBrowser() { return browser; }
+    public String getBaseUrl() { return baseUrl; }
+    public int getImplicitWait() { return implicitWait; }
+    public int getExplicitWait() { return explicitWait; }
+    public int getPageLoadTimeout() { return pageLoadTimeout; }
+    public boolean isEventDrivenWait() { return eventDrivenWait; }
+    public int getWaitMaxSliceMillis() { return waitMaxSliceMillis; }
+    public boolean isScreenshotOnFailure() { return screenshotOnFailure; }
+    public boolean isScreenshotOnPass() { return screenshotOnPass; }
+    public String getScreenshotPath() { return screenshotPath; }
+    public String getScreenshotFormat() { return screenshotFormat; }
+    public float getScreenshotQuality() { return screenshotQuality; }
+    public int getScreenshotMaxWidth() { return screenshotMaxWidth; }
+    public int getScreenshotThreads() { return screenshotThreads; }
+    public String getExtentReportPath() { return extentReportPath; }
+    public int getExtentReportRetentionCount() { return extentReportRetentionCount; }
+    public int getExtentReportArchiveMaxAgeDays() { return extentReportArchiveMaxAgeDays; }
+    public int getExtentReportArchiveMaxMb() { return extentReportArchiveMaxMb; }
+    public String getReportEventsPath() { return reportEventsPath; }
+    public int getReportEventsCapacity() { return reportEventsCapacity; }
+    public List<String> getReportSinks() { return reportSinks; }
+    public boolean isMetricsEnabled() { return metricsEnabled; }
+    public String getMetricsPath() { return metricsPath; }
+    public String getScenarioLogPath() { return scenarioLogPath; }
+    public String getRoundTripBudgetMode() { return roundTripBudgetMode; }
+    public int getRoundTripBudgetPerStep() { return roundTripBudgetPerStep; }
+    public int getRoundTripRepeatThreshold() { return roundTripRepeatThreshold; }
+    public boolean isSchedulingEnabled() { return schedulingEnabled; }
+    public String getSchedulingHistoryFile() { return schedulingHistoryFile; }
+    public int getSchedulingDefaultEstimateMillis() { return schedulingDefaultEstimateMillis; }
+    public int getRerunMaxRetries() { return rerunMaxRetries; }
+    public boolean isRerunFreshBrowser() { return rerunFreshBrowser; }
+    public int getShardIndex() { return shardIndex; }
+    public int getShardTotal() { return shardTotal; }
+    public String getShardStrategy() { return shardStrategy; }
+    public boolean isParallelEnabled() { return parallelEnabled; }
+    public boolean isVirtualThreadsEnabled() { return virtualThreadsEnabled; }
+    public int getParallelThreadCount() { return parallelThreadCount; }
+    public String getDriverFactory() { return driverFactory; }
+    public List<String> getGridUrls() { return gridUrls; }
+    public int getGridMaxSessionsPerNode() { return gridMaxSessionsPerNode; }
+    public int getGridSessionWaitTimeout() { return gridSessionWaitTimeout; }
+    public boolean isDriverOffline() { return driverOffline; }
+    public String getDriverCacheDir() { return driverCacheDir; }
+    public int getDriverResolutionTimeout() { return driverResolutionTimeout; }
+    public String getHttpClient() { return httpClient; }
+    public String getHttpVersion() { return httpVersion; }
+    public int getHttpConnectTimeout() { return httpConnectTimeout; }
+    public int getHttpReadTimeout() { return httpReadTimeout; }
+    public Map<String, Integer> getHttpCommandTimeouts() { return httpCommandTimeouts; }
+    public int getHttpKeepAliveTimeout() { return httpKeepAliveTimeout; }
+    public int getHttpPoolMaxConnections() { return httpPoolMaxConnections; }
+    public boolean isDriverPoolEnabled() { return driverPoolEnabled; }
+    public int getDriverPoolMaxSize() { return driverPoolMaxSize; }
+    public int getDriverPoolMaxUses() { return driverPoolMaxUses; }
+    public int getDriverPoolIdleTimeout() { return driverPoolIdleTimeout; }
+    public String getDriverPoolFreshTag() { return driverPoolFreshTag; }
+    public boolean isBrowserContextsEnabled() { return browserContextsEnabled; }
+    public boolean isLeanModeEnabled() { return leanModeEnabled; }
+    public String getLeanModeTag() { return leanModeTag; }
+    public List<String> getLeanModeBlockedResources() { return leanModeBlockedResources; }
+    public List<String> getLeanModeBlockedUrls() { return leanModeBlockedUrls; }
+    public String getNetworkMode() { return networkMode; }
+    public String getNetworkArchiveDir() { return networkArchiveDir; }
+    public String getNetworkReplayUnmatched() { return networkReplayUnmatched; }
+    public List<String> getNetworkMatchIgnoredParams() { return networkMatchIgnoredParams; }
+
+    private String string(String key) {
+        String value = values.get(key);
+        return value != null ? value.trim() : DEFAULTS.getOrDefault(key, "");
+    }
+
+    private boolean bool(String key) {
+        String value = string(key);
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            warnings.add("Invalid boolean for " + key + " ('" + value + "'), using default: " + DEFAULTS.get(key));
+            return Boolean.parseBoolean(DEFAULTS.get(key));
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private int integer(String key) {
+        String value = string(key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            warnings.add("Invalid number for " + key + " ('" + value + "'), using default: " + DEFAULTS.get(key));
+            return Integer.parseInt(DEFAULTS.get(key));
+        }
+    }
+
+    private float fraction(String key) {
+        String value = string(key);
+        try {
+            float parsed = Float.parseFloat(value);
+            if (parsed > 0 && parsed <= 1) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        warnings.add("Invalid value for " + key + " ('" + value + "', expected 0-1), using default: " + DEFAULTS.get(key));
+        return Float.parseFloat(DEFAULTS.get(key));
+    }
+
+    private String imageFormat(String key) {
+        String value = string(key).toLowerCase();
+        if (value.equals("png") || value.equals("jpg")) {
+            return value;
+        }
+        if (value.equals("jpeg")) {
+            return "jpg";
+        }
+        // The JDK has no WebP encoder, so anything else is stored as JPEG
+        warnings.add("Unsupported " + key + " ('" + value + "'), using jpg");
+        return "jpg";
+    }
+
+    private String oneOf(String key, String... allowed) {
+        String value = string(key).toLowerCase();
+        for (String candidate : allowed) {
+            if (candidate.equals(value)) {
+                return value;
+            }
+        }
+        warnings.add("Invalid value for " + key + " ('" + value + "'), using default: " + DEFAULTS.get(key));
+        return DEFAULTS.get(key);
+    }
+
+    /**
+     * Gives each shard its own output directory, e.g. test-output/ExtentReports/shard-2-of-8
+     */
+    private String shardPath(String path) {
+        return shardTotal > 1 ? path + "/shard-" + shardIndex + "-of-" + shardTotal : path;
+    }
+
+    private int positiveIntegerOr(String key, int fallback) {
+        String value = string(key);
+        if (value.isEmpty()) {
+            return fallback;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            return parsed > 0 ? parsed : fallback;
+        } catch (NumberFormatException e) {
+            warnings.add("Invalid number for " + key + " ('" + value + "'), using default: " + fallback);
+            return fallback;
+        }
+    }
+
+    private List<String> list(String key) {
+        List<String> items = new ArrayList<>();
+        for (String item : string(key).split(",")) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Parses name=seconds pairs, e.g. /url=300,/execute/async=120
+     */
+    private Map<String, Integer> secondsByName(String key) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String item : list(key)) {
+            int separator = item.lastIndexOf('=');
+            try {
+                int seconds = Integer.parseInt(item.substring(separator + 1).trim());
+                if (separator > 0 && seconds > 0) {
+                    parsed.put(item.substring(0, separator).trim(), seconds);
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            warnings.add("Invalid entry in " + key + " ('" + item + "', expected name=seconds), ignored");
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+}
@@ -0,0 +1,35 @@
+package com.automation.framework.listeners;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * TestNG listener to configure parallel scenario execution
+ * - Runners expose scenarios through a parallel DataProvider
+ * - This listener sets the DataProvider thread count from config.properties
+ *   (1 thread when parallel.enabled is false, so scenarios run serially)
+ */
+public class ParallelExecutionListener implements IAlterSuiteListener {
+
+    private static final Logger log = LogManager.getLogger(ParallelExecutionListener.class);
+
+    /**
+     * Executes before the suites are run
+     * Applies the configured thread count to every suite
+     */
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threadCount = ConfigReader.isParallelEnabled() ? ConfigReader.getParallelThreadCount() : 1;
+
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threadCount);
+        }
+
+        log.info("Scenario execution: {}", threadCount > 1 ? "parallel with " + threadCount + " threads" : "serial");
+    }
+}
@@ -1,43 +1,54 @@
 package com.automation.framework.listeners;
 
 import com.automation.framework.config.ConfigReader;
+import com.automation.framework.reports.ExtentReportRenderer;
+import com.automation.framework.reports.ReportArchive;
+import com.automation.framework.reports.ReportEventBus;
 import com.automation.framework.reports.ReportManager;
+import com.automation.framework.scheduling.ScenarioRerun;
+import com.automation.framework.scheduling.ScenarioScheduler;
+import com.automation.framework.utils.ScreenshotPipeline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.IExecutionListener;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 /**
  * TestNG listener to manage ExtentReports lifecycle
- * - Cleans up old reports before test execution
- * - Renames report with timestamp after test execution
+ * - Starts report housekeeping (compressing and expiring old reports) in the background
+ *   before test execution
+ * - Drains the reporting event bus and renders the HTML report from the event log
+ * - Renames report with timestamp after test execution and adds it to the report index
  */
 public class ReportCleanupListener implements IExecutionListener {
     
+    private static final Logger log = LogManager.getLogger(ReportCleanupListener.class);
+    
     private static final String TEMP_REPORT_NAME = "ExtentReport.html";
     
     /**
      * Executes before test suite starts
-     * Cleans up old reports based on retention policy
+     * Starts housekeeping of old reports based on retention policy, without waiting for it
      */
     @Override
-    public void onExecutionStart() {
-        System.out.println("========================================");
-        System.out.println("ExtentReports Cleanup - Starting");
-        System.out.println("========================================");
+    public synchronized void onExecutionStart() {
+        log.info("ExtentReports Cleanup - Starting");
         
-        // Run cleanup of old reports
-        ReportManager.cleanupOldReports();
+        // Compress and expire old reports on a background thread
+        ReportArchive.housekeepInBackground();
         
         int reportCount = ReportManager.getReportCount();
         int retentionLimit = ConfigReader.getExtentReportRetentionCount();
         
-        System.out.println("Current report count: " + reportCount);
-        System.out.println("Retention limit: " + retentionLimit);
-        System.out.println("========================================");
+        log.info("Current report count: {}", reportCount);
+        log.info("Retention limit: {}", retentionLimit);
     }
     
     /**
@@ -45,17 +56,26 @@ public class ReportCleanupListener implements IExecutionListener {
      * Renames the generated report with timestamp
      */
     @Override
-    public void onExecutionFinish() {
-        System.out.println("========================================");
-        System.out.println("ExtentReports Post-Processing - Starting");
-        System.out.println("========================================");
+    public synchronized void onExecutionFinish() {
+        log.info("ExtentReports Post-Processing - Starting");
+        
+        // Make sure every screenshot linked from the report is on disk
+        ScreenshotPipeline.awaitPending(60);
+        log.info(ScreenshotPipeline.getStats());
+        
+        // Write out every pending reporting event, then render the HTML report from the log
+        ReportEventBus.shutdown(60);
+        log.info(ReportEventBus.getStats());
+        ExtentReportRenderer.Result rendered = renderReport();
+        log.info(ScenarioScheduler.getSummary());
+        log.info(ScenarioRerun.getSummary());
         
         try {
             String reportDir = ConfigReader.getExtentReportPath();
             File sourceFile = new File(reportDir + File.separator + TEMP_REPORT_NAME);
             
             if (!sourceFile.exists()) {
-                System.out.println("No ExtentReport found to rename at: " + sourceFile.getAbsolutePath());
+                log.warn("No ExtentReport found to rename at: {}", sourceFile.getAbsolutePath());
                 return;
             }
             
@@ -64,26 +84,58 @@ public class ReportCleanupListener implements IExecutionListener {
             String newFileName = "ExtentReport_" + timestamp + ".html";
             File targetFile = new File(reportDir + File.separator + newFileName);
             
+            // Never overwrite a report finished within the same second by another execution
+            int suffix = 1;
+            while (targetFile.exists()) {
+                newFileName = "ExtentReport_" + timestamp + "_" + suffix++ + ".html";
+                targetFile = new File(reportDir + File.separator + newFileName);
+            }
+            
             // Rename the file
-            Files.move(sourceFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(sourceFile.toPath(), targetFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            
+            log.info("ExtentReport renamed successfully:");
+            log.info("  From: {}", TEMP_REPORT_NAME);
+            log.info("  To:   {}", newFileName);
+            log.info("  Location: {}", targetFile.getAbsolutePath());
             
-            System.out.println("ExtentReport renamed successfully:");
-            System.out.println("  From: " + TEMP_REPORT_NAME);
-            System.out.println("  To:   " + newFileName);
-            System.out.println("  Location: " + targetFile.getAbsolutePath());
+            // Index the new report, then apply retention to it as well
+            ReportArchive.awaitHousekeeping(60);
+            String runId = ReportEventBus.getRunId() != null ? ReportEventBus.getRunId() : timestamp;
+            ReportArchive.add(targetFile.toPath(), runId,
+                rendered != null ? rendered.getPassed() : -1, rendered != null ? rendered.getFailed() : -1);
+            log.info(ReportArchive.housekeep());
             
             // Show report summary
             int totalReports = ReportManager.getReportCount();
-            System.out.println("Total ExtentReports stored: " + totalReports);
+            log.info("Total ExtentReports stored: {}", totalReports);
             
         } catch (Exception e) {
-            System.err.println("Error renaming ExtentReport: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error renaming ExtentReport: {}", e.getMessage(), e);
         }
         
-        System.out.println("========================================");
-        System.out.println("ExtentReports Post-Processing - Completed");
-        System.out.println("========================================");
+        log.info("ExtentReports Post-Processing - Completed");
+    }
+    
+    /**
+     * Renders the event log of this run into the HTML report
+     * @return Scenario counts, or null if nothing was rendered
+     */
+    private ExtentReportRenderer.Result renderReport() {
+        Path eventLog = ReportEventBus.getEventLog();
+        if (eventLog == null || !Files.exists(eventLog)) {
+            log.warn("No reporting event log found, HTML report not rendered");
+            return null;
+        }
+        try {
+            Path htmlReport = Paths.get(ConfigReader.getExtentReportPath(), TEMP_REPORT_NAME);
+            ExtentReportRenderer.Result result = ExtentReportRenderer.render(eventLog, htmlReport);
+            log.info("Rendered {} scenario(s) from {}", result.getScenarios(), eventLog);
+            return result;
+        } catch (Exception e) {
+            log.error("Error rendering ExtentReport from {}: {}", eventLog, e.getMessage(), e);
+            return null;
+        }
     }
 }
 
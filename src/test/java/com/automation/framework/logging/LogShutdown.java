@@ -0,0 +1,49 @@
+package com.automation.framework.logging;
+
+import org.apache.logging.log4j.LogManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shutdown hooks that log, run before logging itself stops
+ * JVM shutdown hooks run in no particular order, so with Log4j's own hook a statistics line logged
+ * from another hook could be dropped (or stay in the async queue); log4j2.xml disables that hook and
+ * this one runs the registered tasks in parallel, waits for them, then flushes and stops Log4j
+ */
+public class LogShutdown {
+
+    private static final List<Thread> hooks = new ArrayList<>();
+    private static boolean registered;
+
+    /**
+     * Runs a task at JVM shutdown, before logging stops
+     * @param name Thread name for the task
+     */
+    public static synchronized void addHook(String name, Runnable task) {
+        if (!registered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(LogShutdown::runHooks, "log-shutdown"));
+            registered = true;
+        }
+        hooks.add(new Thread(task, name));
+    }
+
+    private static void runHooks() {
+        List<Thread> tasks;
+        synchronized (LogShutdown.class) {
+            tasks = new ArrayList<>(hooks);
+        }
+        for (Thread task : tasks) {
+            task.start();
+        }
+        try {
+            for (Thread task : tasks) {
+                task.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            LogManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.automation.framework.logging;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps one scenario's log lines in memory, created per scenario by the routing appender in log4j2.xml
+ * - Lines are formatted straight into a reused buffer (no String per event)
+ * - Past maxKb the oldest lines are dropped, so a chatty scenario keeps its last part
+ * Nothing touches the disk: ScenarioLog writes the buffer out only when the scenario fails
+ */
+@Plugin(name = "ScenarioBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public class ScenarioBufferAppender extends AbstractAppender {
+
+    private static final int DEFAULT_MAX_KB = 1024;
+
+    private final PatternLayout layout;
+    private final int maxChars;
+    private final StringBuilder buffer = new StringBuilder(1024);
+    private final ReentrantLock lock = new ReentrantLock();
+    private int droppedLines;
+
+    private ScenarioBufferAppender(String name, Filter filter, PatternLayout layout, int maxChars) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.layout = layout;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Creates the appender from its configuration element
+     * @param maxKb Buffer size in KB (default 1024)
+     */
+    @PluginFactory
+    public static ScenarioBufferAppender createAppender(@PluginAttribute("name") String name,
+                                                        @PluginAttribute("maxKb") int maxKb,
+                                                        @PluginElement("Layout") PatternLayout layout,
+                                                        @PluginElement("Filter") Filter filter) {
+        if (name == null) {
+            LOGGER.error("No name provided for ScenarioBufferAppender");
+            return null;
+        }
+        if (layout == null) {
+            layout = PatternLayout.createDefaultLayout();
+        }
+        return new ScenarioBufferAppender(name, filter, layout, (maxKb > 0 ? maxKb : DEFAULT_MAX_KB) * 1024);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        lock.lock();
+        try {
+            layout.serialize(event, buffer);
+            if (buffer.length() > maxChars) {
+                trim();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the buffered lines, prefixed with a note if older ones were dropped
+     */
+    public String getContent() {
+        lock.lock();
+        try {
+            return droppedLines == 0 ? buffer.toString()
+                : "... " + droppedLines + " earlier line(s) dropped (maxKb)" + System.lineSeparator() + buffer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops whole lines from the start until the buffer is back to three quarters of its limit
+     */
+    private void trim() {
+        int target = buffer.length() - maxChars * 3 / 4;
+        int cut = 0;
+        while (cut < target) {
+            int newline = buffer.indexOf("\n", cut);
+            if (newline < 0) {
+                cut = buffer.length();
+                break;
+            }
+            cut = newline + 1;
+            droppedLines++;
+        }
+        buffer.delete(0, cut);
+    }
+}
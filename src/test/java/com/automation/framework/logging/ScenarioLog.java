@@ -0,0 +1,96 @@
+package com.automation.framework.logging;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-scenario logging, on top of the ScenarioRouting appender in log4j2.xml
+ * - start() puts the scenario name and thread in the thread context, so every line logged
+ *   on this thread carries them and is routed to the scenario's in-memory buffer
+ * - finish() writes the buffer to scenario.log.path only if the scenario failed, then drops it
+ * Passing scenarios never touch the disk for their own log
+ */
+public class ScenarioLog {
+
+    private static final Logger log = LogManager.getLogger(ScenarioLog.class);
+
+    /** Thread context keys, usable in patterns as %X{scenario} and %X{thread} */
+    public static final String SCENARIO = "scenario";
+    public static final String THREAD = "thread";
+    /** Routing key in log4j2.xml, unique per scenario run */
+    public static final String ROUTE = "scenarioLog";
+
+    private static final String ROUTING_APPENDER = "ScenarioRouting";
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Routes this thread's log lines to a new buffer for the scenario
+     */
+    public static void start(String scenarioName) {
+        ThreadContext.put(SCENARIO, scenarioName);
+        ThreadContext.put(THREAD, Thread.currentThread().getName());
+        ThreadContext.put(ROUTE, fileName(scenarioName) + "-" + sequence.incrementAndGet());
+    }
+
+    /**
+     * Ends the scenario's log: written to a file if the scenario failed, discarded otherwise
+     * @return Log file, or null if nothing was written
+     */
+    public static Path finish(boolean failed) {
+        String key = ThreadContext.get(ROUTE);
+        ThreadContext.remove(ROUTE);
+        ThreadContext.remove(SCENARIO);
+        ThreadContext.remove(THREAD);
+        if (key == null) {
+            return null;
+        }
+
+        RoutingAppender routing = getRouting();
+        if (routing == null) {
+            return null;
+        }
+        try {
+            AppenderControl control = routing.getAppenders().get(key);
+            Appender appender = control != null ? control.getAppender() : null;
+            if (!failed || !(appender instanceof ScenarioBufferAppender)) {
+                return null;
+            }
+            Path file = Paths.get(ConfigReader.getScenarioLogPath(), key + ".log");
+            Files.createDirectories(file.getParent());
+            Files.write(file, ((ScenarioBufferAppender) appender).getContent().getBytes(StandardCharsets.UTF_8));
+            return file;
+        } catch (IOException e) {
+            log.error("Error writing scenario log {}: {}", key, e.getMessage());
+            return null;
+        } finally {
+            routing.deleteAppender(key);
+        }
+    }
+
+    private static RoutingAppender getRouting() {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        Appender appender = context.getConfiguration().getAppender(ROUTING_APPENDER);
+        return appender instanceof RoutingAppender ? (RoutingAppender) appender : null;
+    }
+
+    /**
+     * Turns a scenario name into a file name
+     */
+    private static String fileName(String scenarioName) {
+        String name = scenarioName.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return name.length() > 80 ? name.substring(0, 80) : name;
+    }
+}
@@ -0,0 +1,97 @@
+package com.automation.framework.metrics;
+
+import com.automation.framework.base.BasePage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * WebDriverListener timing every call made through the decorated driver
+ * - Each call is recorded under "command" as Type.method (e.g. WebElement.click)
+ * - The same sample is recorded under "page_command" by the page object method that issued the call
+ *   (found by walking the stack); this is per command, the page method call as a whole is not timed
+ * - Remote calls are counted against the step's round-trip budget (RoundTripBudget)
+ * Registered on the driver by DriverManager when metrics.enabled is true (off by default: every call
+ * then goes through the decorator and a stack walk)
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isTimed(method)) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method, args);
+    }
+
+    private void finish(Object target, Method method, Object[] args) {
+        if (!isTimed(method)) {
+            return;
+        }
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        LatencyMetrics.record(LatencyMetrics.COMMAND, commandName(target, method), elapsed);
+
+        String pageMethod = callingPageMethod();
+        if (pageMethod != null) {
+            LatencyMetrics.record(LatencyMetrics.PAGE_COMMAND, pageMethod, elapsed);
+        }
+        RoundTripBudget.recordCommand(target, method, args, pageMethod);
+    }
+
+    /**
+     * Object methods (equals, hashCode) are local and not worth timing
+     */
+    private static boolean isTimed(Method method) {
+        return method.getDeclaringClass() != Object.class;
+    }
+
+    /**
+     * Gets the command name, e.g. WebDriver.get or WebElement.click
+     */
+    static String commandName(Object target, Method method) {
+        String type;
+        if (target instanceof WebElement) {
+            type = "WebElement";
+        } else if (target instanceof WebDriver) {
+            type = "WebDriver";
+        } else {
+            type = method.getDeclaringClass().getSimpleName();
+        }
+        return type + "." + method.getName();
+    }
+
+    /**
+     * Finds the innermost page object method on the calling thread's stack
+     * @return Page method (e.g. GoogleHomePage.search), or null when not called from a page object
+     */
+    static String callingPageMethod() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+            .filter(f -> BasePage.class.isAssignableFrom(f.getDeclaringClass())
+                && f.getDeclaringClass() != BasePage.class)
+            .findFirst());
+        return frame.map(f -> f.getDeclaringClass().getSimpleName() + "." + f.getMethodName()).orElse(null);
+    }
+}
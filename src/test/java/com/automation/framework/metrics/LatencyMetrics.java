@@ -0,0 +1,153 @@
+package com.automation.framework.metrics;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of latency histograms for the run
+ * Histograms are keyed by category and name:
+ * - step: Cucumber step (by step definition pattern, so parameterized steps aggregate)
+ * - command: WebDriver command (e.g. WebElement.click)
+ * - page_command: WebDriver command, by the page object method that issued it (one sample per command,
+ *   not per page method call)
+ * - http: WebDriver command on the wire (http.client=pooled), by method and path without ids
+ * Exported at the end of the run as CSV and Prometheus text format to metrics.path
+ */
+public class LatencyMetrics {
+
+    private static final Logger log = LogManager.getLogger(LatencyMetrics.class);
+
+    public static final String STEP = "step";
+    public static final String COMMAND = "command";
+    public static final String PAGE_COMMAND = "page_command";
+    public static final String HTTP = "http";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private static final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Records one latency sample
+     */
+    public static void record(String category, String name, long nanos) {
+        histograms.computeIfAbsent(category, c -> new ConcurrentHashMap<>())
+            .computeIfAbsent(name, n -> new LatencyHistogram())
+            .record(nanos);
+    }
+
+    /**
+     * Gets the histogram for a category and name
+     * @return Histogram, or null if nothing was recorded for it
+     */
+    public static LatencyHistogram get(String category, String name) {
+        Map<String, LatencyHistogram> byName = histograms.get(category);
+        return byName != null ? byName.get(name) : null;
+    }
+
+    /**
+     * Writes latency.csv and latency.prom to metrics.path
+     * Safe to call more than once, every export contains everything recorded so far
+     */
+    public static synchronized void export() {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        Path dir = Paths.get(ConfigReader.getMetricsPath());
+        try {
+            Files.createDirectories(dir);
+            Path csv = dir.resolve("latency.csv");
+            Path prometheus = dir.resolve("latency.prom");
+            writeAtomically(csv, LatencyMetrics::writeCsv);
+            writeAtomically(prometheus, LatencyMetrics::writePrometheus);
+            log.info("Latency metrics exported to {} and {}", csv, prometheus);
+        } catch (IOException e) {
+            log.error("Error exporting latency metrics: {}", e.getMessage());
+        }
+    }
+
+    private static void writeCsv(Writer out) throws IOException {
+        out.write("category,name,count,p50_ms,p95_ms,p99_ms,max_ms,total_ms\n");
+        for (Map.Entry<String, Map<String, LatencyHistogram>> category : sorted(histograms).entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> entry : sorted(category.getValue()).entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                out.write(category.getKey() + "," + csvField(entry.getKey()) + "," + histogram.getCount());
+                for (double quantile : QUANTILES) {
+                    out.write("," + millis(histogram.getPercentileMicros(quantile)));
+                }
+                out.write("," + millis(histogram.getMaxMicros()) + "," + millis(histogram.getSumMicros()) + "\n");
+            }
+        }
+    }
+
+    private static void writePrometheus(Writer out) throws IOException {
+        out.write("# HELP automation_latency_seconds Latency of steps, WebDriver commands (also by issuing page object method) and wire requests\n");
+        out.write("# TYPE automation_latency_seconds summary\n");
+        StringBuilder max = new StringBuilder();
+        max.append("# HELP automation_latency_max_seconds Slowest sample observed\n");
+        max.append("# TYPE automation_latency_max_seconds gauge\n");
+
+        for (Map.Entry<String, Map<String, LatencyHistogram>> category : sorted(histograms).entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> entry : sorted(category.getValue()).entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                String labels = "category=\"" + category.getKey() + "\",name=\"" + labelValue(entry.getKey()) + "\"";
+                for (double quantile : QUANTILES) {
+                    out.write("automation_latency_seconds{" + labels + ",quantile=\"" + quantile + "\"} " +
+                        seconds(histogram.getPercentileMicros(quantile)) + "\n");
+                }
+                out.write("automation_latency_seconds_sum{" + labels + "} " + seconds(histogram.getSumMicros()) + "\n");
+                out.write("automation_latency_seconds_count{" + labels + "} " + histogram.getCount() + "\n");
+                max.append("automation_latency_max_seconds{").append(labels).append("} ")
+                    .append(seconds(histogram.getMaxMicros())).append("\n");
+            }
+        }
+        out.write(max.toString());
+    }
+
+    private static void writeAtomically(Path target, Export export) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            export.write(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static <V> Map<String, V> sorted(Map<String, V> map) {
+        return new TreeMap<>(map);
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String labelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private interface Export {
+        void write(Writer out) throws IOException;
+    }
+}
@@ -0,0 +1,216 @@
+package com.automation.framework.metrics;
+
+import com.automation.framework.config.ConfigReader;
+import com.automation.framework.reports.ReportEvent;
+import com.automation.framework.reports.ReportEventBus;
+import com.automation.framework.utils.WaitUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Counts WebDriver round trips per step and checks them against a budget
+ * - Every remote command issued during a step is counted, per page object method as well
+ * - Repeated lookups with the same locator inside one step are flagged as an N+1 pattern;
+ *   lookups made while a WaitUtil wait re-checks its condition count as round trips, not as repeats
+ * - roundtrip.budget.mode decides what happens when a step exceeds roundtrip.budget.per.step
+ *   or contains an N+1 pattern: off, warn (report warning) or fail (the step fails)
+ * Commands are fed by CommandTimingListener, so this needs metrics.enabled
+ */
+public class RoundTripBudget {
+
+    private static final Logger log = LogManager.getLogger(RoundTripBudget.class);
+
+    /**
+     * Calls answered by the client without a request to the driver
+     */
+    private static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList(
+        "manage", "navigate", "switchTo", "window", "timeouts", "logs",
+        "getWrappedDriver", "getWrappedElement", "getCapabilities", "getSessionId",
+        "getDevTools", "maybeGetDevTools", "getCommandExecutor", "getErrorHandler",
+        "getFileDetector", "setFileDetector", "getId", "getCoordinates"));
+
+    private static final ThreadLocal<StepRoundTrips> currentStep = new ThreadLocal<>();
+    private static final ThreadLocal<String> pendingViolation = new ThreadLocal<>();
+    private static final Map<String, StepStats> stepStats = new ConcurrentHashMap<>();
+
+    /**
+     * Starts counting for a step on the current thread
+     */
+    public static void startStep(String stepName) {
+        pendingViolation.remove();
+        if (!"off".equals(ConfigReader.getRoundTripBudgetMode())) {
+            currentStep.set(new StepRoundTrips(stepName));
+        }
+    }
+
+    /**
+     * Counts one command made through the decorated driver
+     * Ignored outside of a step and for calls that never reach the driver
+     */
+    static void recordCommand(Object target, Method method, Object[] args, String pageMethod) {
+        StepRoundTrips step = currentStep.get();
+        if (step == null || LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        step.total++;
+        if (pageMethod != null) {
+            step.byPageMethod.merge(pageMethod, 1, Integer::sum);
+        }
+        String name = method.getName();
+        if ((name.equals("findElement") || name.equals("findElements")) && args != null
+                && args.length == 1 && args[0] instanceof By && !WaitUtil.isWaiting()) {
+            String scope = target instanceof WebElement ? "within element " : "";
+            step.lookups.merge(scope + args[0], 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Finishes counting for the current step and checks it against the budget
+     * Violations are reported as a warning; in fail mode they are also kept for enforce()
+     */
+    public static void finishStep() {
+        StepRoundTrips step = currentStep.get();
+        currentStep.remove();
+        if (step == null) {
+            return;
+        }
+
+        int budget = ConfigReader.getRoundTripBudgetPerStep();
+        int repeatThreshold = ConfigReader.getRoundTripRepeatThreshold();
+        StringBuilder violation = new StringBuilder();
+        if (budget > 0 && step.total > budget) {
+            violation.append("Step '").append(step.name).append("' made ").append(step.total)
+                .append(" WebDriver round trips (budget ").append(budget).append(")");
+            if (!step.byPageMethod.isEmpty()) {
+                violation.append(" - ").append(top(step.byPageMethod));
+            }
+        }
+        for (Map.Entry<String, Integer> lookup : step.lookups.entrySet()) {
+            if (lookup.getValue() >= repeatThreshold) {
+                if (violation.length() > 0) {
+                    violation.append("\n");
+                }
+                violation.append("Step '").append(step.name).append("' looked up ").append(lookup.getKey())
+                    .append(" ").append(lookup.getValue()).append(" times (N+1 pattern, cache or bulk-read it)");
+            }
+        }
+
+        StepStats stats = stepStats.computeIfAbsent(step.name, name -> new StepStats());
+        stats.record(step.total, violation.length() > 0);
+
+        if (violation.length() > 0) {
+            String message = violation.toString();
+            log.info("Round-trip budget: {}", message);
+            String scenarioId = ReportEventBus.getCurrentScenario();
+            if (scenarioId != null) {
+                ReportEventBus.publish(ReportEvent.log(scenarioId, "WARNING", message));
+            }
+            if ("fail".equals(ConfigReader.getRoundTripBudgetMode())) {
+                pendingViolation.set(message);
+            }
+        }
+    }
+
+    /**
+     * Fails the current step if it broke the round-trip budget in fail mode
+     * Called from an AfterStep hook, which runs right after the step finished
+     * @throws AssertionError with the violation details
+     */
+    public static void enforce() {
+        String violation = pendingViolation.get();
+        if (violation != null) {
+            pendingViolation.remove();
+            throw new AssertionError(violation);
+        }
+    }
+
+    /**
+     * Writes roundtrips.csv (executions, average, max and violations per step) to metrics.path
+     */
+    public static synchronized void export() {
+        if (stepStats.isEmpty()) {
+            return;
+        }
+        Path csv = Paths.get(ConfigReader.getMetricsPath()).resolve("roundtrips.csv");
+        try {
+            Files.createDirectories(csv.getParent());
+            try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                out.write("step,executions,avg_round_trips,max_round_trips,violations\n");
+                for (Map.Entry<String, StepStats> entry : new TreeMap<>(stepStats).entrySet()) {
+                    StepStats stats = entry.getValue();
+                    long executions = stats.executions.get();
+                    out.write("\"" + entry.getKey().replace("\"", "\"\"") + "\"," + executions + "," +
+                        (executions > 0 ? stats.total.get() / executions : 0) + "," +
+                        stats.max.get() + "," + stats.violations.get() + "\n");
+                }
+            }
+            log.info("Round-trip counts exported to {}", csv);
+        } catch (IOException e) {
+            log.error("Error exporting round-trip counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Formats the three page methods with the most round trips
+     */
+    private static String top(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .limit(3)
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Round trips of the step running on a thread
+     */
+    private static class StepRoundTrips {
+        private final String name;
+        private final Map<String, Integer> byPageMethod = new HashMap<>();
+        private final Map<String, Integer> lookups = new LinkedHashMap<>();
+        private int total;
+
+        private StepRoundTrips(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Round-trip totals of a step across the run
+     */
+    private static class StepStats {
+        private final AtomicLong executions = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLong violations = new AtomicLong();
+
+        private void record(int roundTrips, boolean violated) {
+            executions.incrementAndGet();
+            total.addAndGet(roundTrips);
+            max.accumulateAndGet(roundTrips, Math::max);
+            if (violated) {
+                violations.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.automation.framework.metrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin recording the duration of every step and hook into LatencyMetrics
+ * - Steps are keyed by their step definition pattern, so parameterized steps share one histogram
+ * - Hooks are keyed by type and code location (e.g. BEFORE Hooks.setUp(io.cucumber.java.Scenario))
+ * - Marks step boundaries for the round-trip budget (RoundTripBudget)
+ * Exports the metrics when the run finishes
+ * Register it in @CucumberOptions: plugin = {"com.automation.framework.metrics.StepTimingPlugin"}
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        // Concurrent listeners are called on the thread running the step
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            RoundTripBudget.startStep(stepName((PickleStepTestStep) event.getTestStep()));
+        }
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        long nanos = event.getResult().getDuration().toNanos();
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            LatencyMetrics.record(LatencyMetrics.STEP, stepName((PickleStepTestStep) event.getTestStep()), nanos);
+            RoundTripBudget.finishStep();
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            HookTestStep hook = (HookTestStep) event.getTestStep();
+            LatencyMetrics.record(LatencyMetrics.STEP, hook.getHookType() + " " + hook.getCodeLocation(), nanos);
+        }
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        LatencyMetrics.export();
+        RoundTripBudget.export();
+    }
+
+    /**
+     * Gets the step definition pattern, or the step text for undefined steps
+     */
+    static String stepName(PickleStepTestStep step) {
+        String pattern = step.getPattern();
+        return pattern != null ? pattern : step.getStep().getText();
+    }
+}
@@ -1,5 +1,7 @@
 package com.automation.framework.reports;
 
+import com.automation.framework.utils.ScreenshotPipeline;
+import com.automation.framework.utils.ScreenshotUtil;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
@@ -7,27 +9,42 @@ import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Manager class for ExtentReports
  * Handles report initialization and configuration
+ * Inside a Cucumber scenario, log and screenshot calls are published to the ReportEventBus
+ * (the HTML report is rendered from the event log after the run); the in-memory
+ * ExtentReports instance is only used for tests created with createTest()
  */
 public class ExtentReportManager {
     
-    private static ExtentReports extent;
+    private static volatile ExtentReports extent;
     private static ExtentSparkReporter sparkReporter;
     private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    // Serializes changes to the report tree; a lock so flushing to disk does not pin virtual threads
+    private static final ReentrantLock reportLock = new ReentrantLock();
     
     /**
      * Initializes ExtentReports
+     * Safe to call from multiple threads, the instance is created only once
      */
     public static ExtentReports getInstance() {
-        if (extent == null) {
-            createInstance();
+        ExtentReports instance = extent;
+        if (instance == null) {
+            synchronized (ExtentReportManager.class) {
+                instance = extent;
+                if (instance == null) {
+                    instance = createInstance();
+                }
+            }
         }
-        return extent;
+        return instance;
     }
     
     /**
@@ -52,17 +69,19 @@ public class ExtentReportManager {
         sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
         sparkReporter.config().setEncoding("UTF-8");
         
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
+        ExtentReports instance = new ExtentReports();
+        instance.attachReporter(sparkReporter);
         
         // Set system information
-        extent.setSystemInfo("Operating System", System.getProperty("os.name"));
-        extent.setSystemInfo("OS Version", System.getProperty("os.version"));
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        extent.setSystemInfo("User Name", System.getProperty("user.name"));
-        extent.setSystemInfo("Framework", "Selenium + Cucumber + TestNG");
+        instance.setSystemInfo("Operating System", System.getProperty("os.name"));
+        instance.setSystemInfo("OS Version", System.getProperty("os.version"));
+        instance.setSystemInfo("Java Version", System.getProperty("java.version"));
+        instance.setSystemInfo("User Name", System.getProperty("user.name"));
+        instance.setSystemInfo("Framework", "Selenium + Cucumber + TestNG");
         
-        return extent;
+        // Publish only once fully configured
+        extent = instance;
+        return instance;
     }
     
     /**
@@ -81,9 +100,17 @@ public class ExtentReportManager {
     
     /**
      * Creates a test in the report
+     * Test creation mutates the shared report tree, so it is serialized
      */
     public static ExtentTest createTest(String testName) {
-        ExtentTest test = getInstance().createTest(testName);
+        ExtentReports instance = getInstance();
+        ExtentTest test;
+        reportLock.lock();
+        try {
+            test = instance.createTest(testName);
+        } finally {
+            reportLock.unlock();
+        }
         setTest(test);
         return test;
     }
@@ -92,7 +119,14 @@ public class ExtentReportManager {
      * Creates a test with description
      */
     public static ExtentTest createTest(String testName, String description) {
-        ExtentTest test = getInstance().createTest(testName, description);
+        ExtentReports instance = getInstance();
+        ExtentTest test;
+        reportLock.lock();
+        try {
+            test = instance.createTest(testName, description);
+        } finally {
+            reportLock.unlock();
+        }
         setTest(test);
         return test;
     }
@@ -101,7 +135,10 @@ public class ExtentReportManager {
      * Logs a message to the current test
      */
     public static void log(Status status, String message) {
-        if (getTest() != null) {
+        String scenarioId = ReportEventBus.getCurrentScenario();
+        if (scenarioId != null) {
+            ReportEventBus.publish(ReportEvent.log(scenarioId, status.name(), message));
+        } else if (getTest() != null) {
             getTest().log(status, message);
         }
     }
@@ -143,19 +180,33 @@ public class ExtentReportManager {
     
     /**
      * Adds a screenshot to the report
+     * Stored through the ScreenshotPipeline and linked like addScreenshotFromPath, not embedded
+     * @param base64Screenshot PNG screenshot as returned by OutputType.BASE64
      */
     public static void addScreenshot(String base64Screenshot) {
-        if (getTest() != null) {
-            getTest().addScreenCaptureFromBase64String(base64Screenshot);
-        }
+        addScreenshot(base64Screenshot, "Screenshot");
     }
     
     /**
      * Adds a screenshot with title
+     * Stored through the ScreenshotPipeline and linked like addScreenshotFromPath, not embedded
+     * @param base64Screenshot PNG screenshot as returned by OutputType.BASE64
      */
     public static void addScreenshot(String base64Screenshot, String title) {
-        if (getTest() != null) {
-            getTest().addScreenCaptureFromBase64String(base64Screenshot, title);
+        Path screenshot = ScreenshotPipeline.submit(Base64.getDecoder().decode(base64Screenshot));
+        addScreenshotFromPath(ScreenshotUtil.toReportPath(screenshot), title);
+    }
+    
+    /**
+     * Adds a screenshot stored on disk (linked, not embedded)
+     * @param path Screenshot path relative to the report directory
+     */
+    public static void addScreenshotFromPath(String path, String title) {
+        String scenarioId = ReportEventBus.getCurrentScenario();
+        if (scenarioId != null) {
+            ReportEventBus.publish(ReportEvent.attachment(scenarioId, title, path));
+        } else if (getTest() != null) {
+            getTest().addScreenCaptureFromPath(path, title);
         }
     }
     
@@ -163,8 +214,14 @@ public class ExtentReportManager {
      * Flushes the report
      */
     public static void flush() {
-        if (extent != null) {
-            extent.flush();
+        ExtentReports instance = extent;
+        if (instance != null) {
+            reportLock.lock();
+            try {
+                instance.flush();
+            } finally {
+                reportLock.unlock();
+            }
         }
     }
     
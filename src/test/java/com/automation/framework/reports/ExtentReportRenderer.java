@@ -0,0 +1,206 @@
+package com.automation.framework.reports;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders the Extent HTML report from a JSON-lines event log after the run
+ * The log is read line by line, so a log cut short by a killed JVM still renders:
+ * the truncated last line is skipped and unfinished scenarios are marked as interrupted
+ * Failed attempts that were rerun are marked Retried (skip), reruns that passed are marked Flaky (warning)
+ * Only reading is streamed: Extent builds the whole report model (every scenario, step and log line)
+ * in memory before writing the HTML, so memory use grows with the size of the log
+ * Can also be run on its own to render a log left behind by a crashed run:
+ * java ... com.automation.framework.reports.ExtentReportRenderer events.jsonl report.html
+ */
+public class ExtentReportRenderer {
+
+    /**
+     * Renders an event log into an Extent Spark HTML report
+     * @return Number of scenarios rendered, passed and failed
+     */
+    public static Result render(Path eventLog, Path htmlReport) throws IOException {
+        Files.createDirectories(htmlReport.toAbsolutePath().getParent());
+        ExtentSparkReporter spark = new ExtentSparkReporter(htmlReport.toString());
+        spark.config().setTheme(Theme.STANDARD);
+        spark.config().setDocumentTitle("Automation Test Report");
+        spark.config().setReportName("Selenium Cucumber Framework - Test Results");
+        spark.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
+        spark.config().setEncoding("UTF-8");
+
+        ExtentReports extent = new ExtentReports();
+        extent.setReportUsesManualConfiguration(true);
+        extent.attachReporter(spark);
+        extent.setSystemInfo("Operating System", System.getProperty("os.name"));
+        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
+        extent.setSystemInfo("Framework", "Selenium + Cucumber + TestNG");
+
+        Json json = new Json();
+        Map<String, ExtentTest> features = new HashMap<>();
+        Map<String, ExtentTest> scenarios = new HashMap<>();
+        int rendered = 0;
+        int passed = 0;
+        int failed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                ReportEvent event;
+                try {
+                    event = ReportEvent.fromMap(json.toType(line, Json.MAP_TYPE));
+                } catch (JsonException | IllegalArgumentException | ClassCastException e) {
+                    // Truncated line left by a killed JVM
+                    continue;
+                }
+
+                ExtentTest scenario = scenarios.get(event.getScenarioId());
+                switch (event.getType()) {
+                    case SCENARIO_STARTED:
+                        ExtentTest feature = features.computeIfAbsent(event.getFeature(), extent::createTest);
+                        scenario = feature.createNode(event.getName());
+                        scenario.getModel().setStartTime(new Date(event.getTimestamp()));
+                        if (event.getMessage() != null && !event.getMessage().isEmpty()) {
+                            scenario.assignCategory(event.getMessage().split(" "));
+                        }
+                        scenarios.put(event.getScenarioId(), scenario);
+                        break;
+                    case STEP_FINISHED:
+                        if (scenario != null) {
+                            ExtentTest step = scenario.createNode(event.getName());
+                            step.getModel().setStartTime(new Date(event.getTimestamp() - event.getDurationMillis()));
+                            step.getModel().setEndTime(new Date(event.getTimestamp()));
+                            step.log(toStatus(event.getStatus()),
+                                event.getMessage() != null ? event.getMessage() : event.getStatus());
+                        }
+                        break;
+                    case LOG:
+                        if (scenario != null) {
+                            scenario.log(toStatus(event.getStatus()), event.getMessage());
+                        }
+                        break;
+                    case ATTACHMENT:
+                        if (scenario != null) {
+                            scenario.addScreenCaptureFromPath(event.getMessage(), event.getName());
+                        }
+                        break;
+                    case SCENARIO_FINISHED:
+                        if (scenario != null) {
+                            scenario.getModel().setEndTime(new Date(event.getTimestamp()));
+                            if (ReportEvent.RETRIED.equals(event.getStatus())) {
+                                scenario.assignCategory("Retried");
+                                scenario.log(Status.SKIP, "Failed, rerun after the main pass: " + event.getMessage());
+                            } else if (ReportEvent.FLAKY.equals(event.getStatus())) {
+                                scenario.assignCategory("Flaky");
+                                scenario.log(Status.WARNING, "Flaky: passed on rerun after failing in the main pass");
+                            } else if (event.getMessage() != null) {
+                                scenario.log(toStatus(event.getStatus()), event.getMessage());
+                            }
+                            scenarios.remove(event.getScenarioId());
+                            rendered++;
+                            if ("PASSED".equals(event.getStatus()) || ReportEvent.FLAKY.equals(event.getStatus())) {
+                                passed++;
+                            } else if ("FAILED".equals(event.getStatus()) || "AMBIGUOUS".equals(event.getStatus())) {
+                                failed++;
+                            }
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        for (ExtentTest unfinished : scenarios.values()) {
+            unfinished.log(Status.WARNING, "Scenario did not finish (run interrupted)");
+        }
+
+        extent.flush();
+        return new Result(rendered, passed, failed);
+    }
+
+    /**
+     * Maps Cucumber statuses and log levels to Extent statuses
+     */
+    private static Status toStatus(String status) {
+        if (status == null) {
+            return Status.INFO;
+        }
+        switch (status) {
+            case "PASSED":
+            case "PASS":
+                return Status.PASS;
+            case "FAILED":
+            case "AMBIGUOUS":
+            case "FAIL":
+                return Status.FAIL;
+            case "SKIPPED":
+            case "PENDING":
+            case "UNDEFINED":
+            case "UNUSED":
+            case "SKIP":
+                return Status.SKIP;
+            case "WARNING":
+                return Status.WARNING;
+            default:
+                return Status.INFO;
+        }
+    }
+
+    /**
+     * Scenario counts of a rendered report (flaky scenarios count as passed, retried attempts as neither)
+     */
+    public static class Result {
+        private final int scenarios;
+        private final int passed;
+        private final int failed;
+
+        private Result(int scenarios, int passed, int failed) {
+            this.scenarios = scenarios;
+            this.passed = passed;
+            this.failed = failed;
+        }
+
+        public int getScenarios() {
+            return scenarios;
+        }
+
+        public int getPassed() {
+            return passed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Renders an event log from the command line
+     * @param args Event log path and HTML report path
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ExtentReportRenderer <events.jsonl> <report.html>");
+            System.exit(2);
+        }
+        Result result = render(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("Rendered " + result.getScenarios() + " scenario(s) to " + args[1]);
+    }
+}
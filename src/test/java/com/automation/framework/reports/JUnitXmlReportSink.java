@@ -0,0 +1,147 @@
+package com.automation.framework.reports;
+
+import com.automation.framework.config.ConfigReader;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sink streaming a JUnit XML report, one testcase element per finished scenario
+ * Only scenarios still running are held in memory (their step output, capped),
+ * so memory does not grow with the number of scenarios
+ * The testsuite element carries no totals since they are unknown while streaming,
+ * which JUnit XML consumers (Jenkins, GitLab) accept
+ */
+public class JUnitXmlReportSink implements ReportSink {
+
+    private static final int MAX_OUTPUT_CHARS = 64 * 1024;
+
+    private final Writer writer;
+    private final XMLStreamWriter xml;
+    private final Path reportDir = Paths.get(ConfigReader.getExtentReportPath()).toAbsolutePath();
+    private final Map<String, StringBuilder> running = new HashMap<>();
+
+    /**
+     * @param path JUnit XML file to write
+     */
+    public JUnitXmlReportSink(Path path) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        try {
+            this.xml = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", "Cucumber Selenium Test Suite");
+            xml.writeAttribute("timestamp", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date()));
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            writer.close();
+            throw new IOException("Error starting JUnit XML report " + path, e);
+        }
+    }
+
+    @Override
+    public void onEvent(ReportEvent event) throws IOException {
+        switch (event.getType()) {
+            case SCENARIO_STARTED:
+                running.put(event.getScenarioId(), new StringBuilder());
+                break;
+            case STEP_FINISHED:
+                append(event.getScenarioId(), event.getStatus() + " - " + event.getName() +
+                    (event.getMessage() != null ? "\n" + event.getMessage() : ""));
+                break;
+            case LOG:
+                append(event.getScenarioId(), event.getStatus() + " - " + event.getMessage());
+                break;
+            case ATTACHMENT:
+                // Attachment convention understood by the Jenkins JUnit attachments plugin
+                append(event.getScenarioId(), "[[ATTACHMENT|" + reportDir.resolve(event.getMessage()).normalize() + "]]");
+                break;
+            case SCENARIO_FINISHED:
+                writeTestCase(event, running.remove(event.getScenarioId()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void append(String scenarioId, String line) {
+        StringBuilder output = running.get(scenarioId);
+        if (output == null || output.length() >= MAX_OUTPUT_CHARS) {
+            return;
+        }
+        output.append(line, 0, Math.min(line.length(), MAX_OUTPUT_CHARS - output.length())).append('\n');
+    }
+
+    private void writeTestCase(ReportEvent event, StringBuilder output) throws IOException {
+        try {
+            xml.writeCharacters("  ");
+            xml.writeStartElement("testcase");
+            xml.writeAttribute("classname", event.getFeature() != null ? event.getFeature() : "");
+            xml.writeAttribute("name", event.getName());
+            xml.writeAttribute("time", String.format(Locale.ROOT, "%.3f", event.getDurationMillis() / 1000.0));
+
+            String status = event.getStatus();
+            if ("FAILED".equals(status) || "AMBIGUOUS".equals(status)) {
+                String error = event.getMessage() != null ? event.getMessage() : status;
+                xml.writeStartElement("failure");
+                xml.writeAttribute("message", firstLine(error));
+                xml.writeCharacters(error);
+                xml.writeEndElement();
+            } else if (!"PASSED".equals(status) && !ReportEvent.FLAKY.equals(status)) {
+                xml.writeEmptyElement("skipped");
+                xml.writeAttribute("message", status);
+            }
+
+            if (output != null && output.length() > 0) {
+                xml.writeStartElement("system-out");
+                xml.writeCData(output.toString().replace("]]>", "]]]]><![CDATA[>"));
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException("Error writing JUnit XML testcase", e);
+        }
+    }
+
+    private static String firstLine(String text) {
+        int newline = text.indexOf('\n');
+        return newline >= 0 ? text.substring(0, newline) : text;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Error flushing JUnit XML report", e);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Error finishing JUnit XML report", e);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.automation.framework.reports;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sink writing every event as one JSON object per line to an append-only log
+ * The log is the source of truth for the run: the HTML report is rendered from it,
+ * and a log cut short by a killed JVM is still readable up to its last complete line
+ */
+public class JsonLinesReportSink implements ReportSink {
+
+    private final Json json = new Json();
+    private final Writer writer;
+
+    /**
+     * @param path Event log file, created or appended to
+     */
+    public JsonLinesReportSink(Path path) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void onEvent(ReportEvent event) throws IOException {
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = json.newOutput(line)) {
+            out.setPrettyPrint(false).write(event.toMap());
+        }
+        writer.write(line.toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,378 @@
+package com.automation.framework.reports;
+
+import com.automation.framework.config.ConfigReader;
+import com.automation.framework.utils.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Index and archive of the ExtentReports in extent.report.path
+ * - report-index.tsv lists every report (run id, timestamp, size, passed and failed scenarios, file),
+ *   so listing, counting and retention read the index instead of rescanning the directory
+ * - The newest extent.report.retention.count reports stay as HTML, older ones are gzipped into archive/
+ * - Archived reports are deleted once older than extent.report.archive.max.age.days,
+ *   or oldest first while the archive is larger than extent.report.archive.max.mb
+ * - Housekeeping can run on a background thread, so it never holds up the start of a suite
+ * The index is only rebuilt from a directory scan when it does not exist yet (e.g. the first run)
+ * Updates hold a file lock, so JVMs sharing the report directory keep each other's entries
+ */
+public class ReportArchive {
+
+    private static final Logger log = LogManager.getLogger(ReportArchive.class);
+
+    static final String INDEX_FILE = "report-index.tsv";
+    static final String ARCHIVE_DIR = "archive";
+
+    private static final String HEADER = "# run_id\ttimestamp\tbytes\tpassed\tfailed\tfile";
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final Object updateLock = new Object();
+    private static ExecutorService housekeeper;
+    private static Future<?> pendingHousekeeping;
+    private static volatile Snapshot cached;
+
+    /**
+     * Gets the indexed reports, newest first
+     * Never waits for housekeeping: the index file is replaced atomically, so it can be read at any time
+     */
+    public static List<Entry> getEntries() {
+        Path dir = getReportDir();
+        Snapshot snapshot = cached;
+        if (snapshot != null && snapshot.dir.equals(dir)) {
+            return snapshot.entries;
+        }
+        try {
+            if (Files.exists(dir.resolve(INDEX_FILE))) {
+                cache(dir, readIndex(dir));
+            } else {
+                update(entries -> { });
+            }
+            return cached.entries;
+        } catch (IOException e) {
+            log.error("Error reading report index: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Adds a finished report to the index
+     * @param report Report file in extent.report.path
+     */
+    public static void add(Path report, String runId, int passed, int failed) {
+        try {
+            long bytes = Files.size(report);
+            String file = report.getFileName().toString();
+            update(entries -> {
+                entries.removeIf(entry -> entry.file.equals(file));
+                entries.add(new Entry(runId, System.currentTimeMillis(), bytes, passed, failed, file));
+            });
+        } catch (IOException e) {
+            log.error("Error adding {} to the report index: {}", report, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the retention settings: compresses older reports, deletes expired archives
+     * @return Short description of what was done
+     */
+    public static String housekeep() {
+        int retentionCount = ConfigReader.getExtentReportRetentionCount();
+        long maxAgeMillis = ConfigReader.getExtentReportArchiveMaxAgeDays() * DAY_MILLIS;
+        long maxArchiveBytes = ConfigReader.getExtentReportArchiveMaxMb() * 1024L * 1024L;
+        int[] counts = new int[2];
+        try {
+            update(entries -> {
+                Path dir = getReportDir();
+                entries.sort(Comparator.comparingLong((Entry entry) -> entry.timestamp).reversed());
+
+                // Keep the newest reports as HTML, compress the rest
+                int live = 0;
+                for (Entry entry : entries) {
+                    if (!entry.isArchived() && ++live > retentionCount) {
+                        compress(dir, entry);
+                        counts[0]++;
+                    }
+                }
+
+                // Expire archives by age, then by total size (oldest first)
+                long now = System.currentTimeMillis();
+                long archiveBytes = entries.stream().filter(Entry::isArchived).mapToLong(entry -> entry.bytes).sum();
+                for (int i = entries.size() - 1; i >= 0; i--) {
+                    Entry entry = entries.get(i);
+                    if (!entry.isArchived()) {
+                        continue;
+                    }
+                    boolean expired = maxAgeMillis > 0 && now - entry.timestamp > maxAgeMillis;
+                    boolean overSize = maxArchiveBytes > 0 && archiveBytes > maxArchiveBytes;
+                    if (expired || overSize) {
+                        Files.deleteIfExists(dir.resolve(entry.file));
+                        archiveBytes -= entry.bytes;
+                        entries.remove(i);
+                        counts[1]++;
+                    }
+                }
+                entries.removeIf(entry -> entry.file == null);
+            });
+        } catch (IOException e) {
+            log.error("Error during report housekeeping: {}", e.getMessage());
+        }
+        return "Report housekeeping: " + counts[0] + " report(s) compressed, " +
+            counts[1] + " archived report(s) deleted";
+    }
+
+    /**
+     * Starts housekeeping on a background thread and returns right away
+     */
+    public static synchronized void housekeepInBackground() {
+        if (housekeeper == null) {
+            housekeeper = Executors.newSingleThreadExecutor(VirtualThreads.newThreadFactory("report-housekeeping"));
+        }
+        pendingHousekeeping = housekeeper.submit(() -> log.info(housekeep()));
+    }
+
+    /**
+     * Waits for background housekeeping to finish
+     * @return true if nothing is left running
+     */
+    public static boolean awaitHousekeeping(long timeoutSeconds) {
+        Future<?> pending;
+        synchronized (ReportArchive.class) {
+            pending = pendingHousekeeping;
+        }
+        if (pending == null) {
+            return true;
+        }
+        try {
+            pending.get(timeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Report housekeeping did not finish: {}", e);
+            return false;
+        }
+    }
+
+    /**
+     * Gzips a report into the archive directory and points its entry at the archive
+     * An entry whose report is gone is marked for removal (file set to null)
+     */
+    private static void compress(Path dir, Entry entry) throws IOException {
+        Path source = dir.resolve(entry.file);
+        if (!Files.exists(source)) {
+            entry.file = null;
+            return;
+        }
+        Path archived = dir.resolve(ARCHIVE_DIR).resolve(source.getFileName() + ".gz");
+        Files.createDirectories(archived.getParent());
+        Path temp = archived.resolveSibling(archived.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            in.transferTo(out);
+        }
+        Files.move(temp, archived, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(source);
+        entry.file = ARCHIVE_DIR + "/" + archived.getFileName();
+        entry.bytes = Files.size(archived);
+    }
+
+    /**
+     * Reads the index under the file lock, applies a change and writes it back
+     * Builds the index from a directory scan if it does not exist yet
+     */
+    private static void update(IndexChange change) throws IOException {
+        Path dir = getReportDir();
+        Files.createDirectories(dir);
+        synchronized (updateLock) {
+            updateLocked(dir, change);
+        }
+    }
+
+    private static void updateLocked(Path dir, IndexChange change) throws IOException {
+        try (FileChannel lockChannel = FileChannel.open(dir.resolve("report-index.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Released when the channel is closed
+            lockChannel.lock();
+            List<Entry> entries = Files.exists(dir.resolve(INDEX_FILE)) ? readIndex(dir) : scan(dir);
+            change.apply(entries);
+            writeIndex(dir, entries);
+            cache(dir, entries);
+        }
+    }
+
+    private static void cache(Path dir, List<Entry> entries) {
+        List<Entry> newestFirst = new ArrayList<>(entries);
+        newestFirst.sort(Comparator.comparingLong((Entry entry) -> entry.timestamp).reversed());
+        cached = new Snapshot(dir, Collections.unmodifiableList(newestFirst));
+    }
+
+    private static List<Entry> readIndex(Path dir) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(dir.resolve(INDEX_FILE), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                if (fields.length == 6) {
+                    try {
+                        entries.add(new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                            Integer.parseInt(fields[3]), Integer.parseInt(fields[4]), fields[5]));
+                    } catch (NumberFormatException e) {
+                        // Skip a damaged line rather than losing the whole index
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static void writeIndex(Path dir, List<Entry> entries) throws IOException {
+        Path index = dir.resolve(INDEX_FILE);
+        Path temp = dir.resolve(INDEX_FILE + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write(HEADER + "\n");
+            for (Entry entry : entries) {
+                out.write(entry.runId + "\t" + entry.timestamp + "\t" + entry.bytes + "\t" +
+                    entry.passed + "\t" + entry.failed + "\t" + entry.file + "\n");
+            }
+        }
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * One-time scan of reports that were written before the index existed
+     * Their scenario counts are unknown (-1)
+     */
+    private static List<Entry> scan(Path dir) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        scanInto(entries, dir, "ExtentReport_*.html", "");
+        Path archiveDir = dir.resolve(ARCHIVE_DIR);
+        if (Files.isDirectory(archiveDir)) {
+            scanInto(entries, archiveDir, "ExtentReport_*.html.gz", ARCHIVE_DIR + "/");
+        }
+        return entries;
+    }
+
+    private static void scanInto(List<Entry> entries, Path dir, String glob, String prefix) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String runId = name.substring("ExtentReport_".length(), name.indexOf(".html"));
+                entries.add(new Entry(runId, Files.getLastModifiedTime(file).toMillis(), Files.size(file),
+                    -1, -1, prefix + name));
+            }
+        }
+    }
+
+    private static Path getReportDir() {
+        return Paths.get(ConfigReader.getExtentReportPath()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * One indexed report
+     */
+    public static class Entry {
+        private final String runId;
+        private final long timestamp;
+        private final int passed;
+        private final int failed;
+        private long bytes;
+        private String file;
+
+        private Entry(String runId, long timestamp, long bytes, int passed, int failed, String file) {
+            this.runId = runId;
+            this.timestamp = timestamp;
+            this.bytes = bytes;
+            this.passed = passed;
+            this.failed = failed;
+            this.file = file;
+        }
+
+        public String getRunId() {
+            return runId;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Passed scenarios, or -1 for reports indexed from a directory scan
+         */
+        public int getPassed() {
+            return passed;
+        }
+
+        /**
+         * Failed scenarios, or -1 for reports indexed from a directory scan
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Report file relative to extent.report.path (archive/...html.gz once archived)
+         */
+        public String getFile() {
+            return file;
+        }
+
+        public String getFileName() {
+            return new File(file).getName();
+        }
+
+        public boolean isArchived() {
+            return file != null && file.startsWith(ARCHIVE_DIR + "/");
+        }
+    }
+
+    /**
+     * Index entries of one report directory, as last read or written
+     */
+    private static class Snapshot {
+        private final Path dir;
+        private final List<Entry> entries;
+
+        private Snapshot(Path dir, List<Entry> entries) {
+            this.dir = dir;
+            this.entries = entries;
+        }
+    }
+
+    private interface IndexChange {
+        void apply(List<Entry> entries) throws IOException;
+    }
+}
@@ -0,0 +1,208 @@
+package com.automation.framework.reports;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable reporting event published to the ReportEventBus
+ * Events are small and self-describing, so sinks can write them out
+ * as they arrive instead of keeping a report tree in memory
+ */
+public class ReportEvent {
+
+    /**
+     * Kind of reporting event
+     */
+    public enum Type {
+        RUN_STARTED,
+        SCENARIO_STARTED,
+        STEP_FINISHED,
+        LOG,
+        ATTACHMENT,
+        SCENARIO_FINISHED
+    }
+
+    /**
+     * Scenario status of a failed attempt that is rerun after the main pass
+     */
+    public static final String RETRIED = "RETRIED";
+
+    /**
+     * Scenario status of a rerun that passed after failing in the main pass
+     */
+    public static final String FLAKY = "FLAKY";
+
+    private final Type type;
+    private final long timestamp;
+    private final String scenarioId;
+    private final String name;
+    private final String feature;
+    private final String location;
+    private final String status;
+    private final String message;
+    private final long durationMillis;
+    private final String thread;
+
+    private ReportEvent(Type type, long timestamp, String scenarioId, String name, String feature, String location,
+                        String status, String message, long durationMillis, String thread) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.scenarioId = scenarioId;
+        this.name = name;
+        this.feature = feature;
+        this.location = location;
+        this.status = status;
+        this.message = message;
+        this.durationMillis = durationMillis;
+        this.thread = thread;
+    }
+
+    private static ReportEvent create(Type type, String scenarioId, String name, String feature,
+                                      String status, String message, long durationMillis) {
+        return new ReportEvent(type, System.currentTimeMillis(), scenarioId, name, feature, null,
+            status, message, durationMillis, Thread.currentThread().getName());
+    }
+
+    /**
+     * A run started, the first event of every event log
+     * @param runId Run id (timestamp and process id)
+     * @param reportDir Absolute report directory, which attachment paths are relative to
+     * @param relativeReportDir The same directory relative to the event log's directory, which still
+     *                          resolves when the output is copied to another machine (kept as location)
+     */
+    public static ReportEvent runStarted(String runId, String reportDir, String relativeReportDir) {
+        return new ReportEvent(Type.RUN_STARTED, System.currentTimeMillis(), null, runId, null, relativeReportDir,
+            null, reportDir, 0, Thread.currentThread().getName());
+    }
+
+    /**
+     * A scenario started
+     * @param feature Feature (file) the scenario belongs to
+     * @param location Feature file and line of the scenario, identifies it across runs
+     * @param tags Scenario tags, space separated
+     */
+    public static ReportEvent scenarioStarted(String scenarioId, String name, String feature, String location,
+                                              String tags) {
+        return new ReportEvent(Type.SCENARIO_STARTED, System.currentTimeMillis(), scenarioId, name, feature,
+            location, null, tags, 0, Thread.currentThread().getName());
+    }
+
+    /**
+     * A step finished
+     * @param error Error message of a failed step, or null
+     */
+    public static ReportEvent stepFinished(String scenarioId, String stepText, String status,
+                                           String error, long durationMillis) {
+        return create(Type.STEP_FINISHED, scenarioId, stepText, null, status, error, durationMillis);
+    }
+
+    /**
+     * A log message for a scenario
+     * @param status Log level (INFO, PASS, FAIL, SKIP, WARNING)
+     */
+    public static ReportEvent log(String scenarioId, String status, String message) {
+        return create(Type.LOG, scenarioId, null, null, status, message, 0);
+    }
+
+    /**
+     * A file attached to a scenario (e.g. a screenshot)
+     * @param path File path relative to the report directory
+     */
+    public static ReportEvent attachment(String scenarioId, String title, String path) {
+        return create(Type.ATTACHMENT, scenarioId, title, null, null, path, 0);
+    }
+
+    /**
+     * A scenario finished
+     * @param status Cucumber status, RETRIED or FLAKY
+     * @param error Error message of a failed scenario, or null
+     */
+    public static ReportEvent scenarioFinished(String scenarioId, String name, String feature, String status,
+                                               String error, long durationMillis) {
+        return create(Type.SCENARIO_FINISHED, scenarioId, name, feature, status, error, durationMillis);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getScenarioId() {
+        return scenarioId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFeature() {
+        return feature;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * Converts the event to a map for JSON serialization (null fields are left out)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("type", type.name());
+        map.put("time", timestamp);
+        putIfPresent(map, "scenario", scenarioId);
+        putIfPresent(map, "name", name);
+        putIfPresent(map, "feature", feature);
+        putIfPresent(map, "location", location);
+        putIfPresent(map, "status", status);
+        putIfPresent(map, "message", message);
+        if (durationMillis > 0) {
+            map.put("duration", durationMillis);
+        }
+        putIfPresent(map, "thread", thread);
+        return map;
+    }
+
+    /**
+     * Rebuilds an event from its JSON map
+     */
+    public static ReportEvent fromMap(Map<String, Object> map) {
+        Object duration = map.get("duration");
+        return new ReportEvent(
+            Type.valueOf((String) map.get("type")),
+            ((Number) map.get("time")).longValue(),
+            (String) map.get("scenario"),
+            (String) map.get("name"),
+            (String) map.get("feature"),
+            (String) map.get("location"),
+            (String) map.get("status"),
+            (String) map.get("message"),
+            duration != null ? ((Number) duration).longValue() : 0,
+            (String) map.get("thread"));
+    }
+
+    private static void putIfPresent(Map<String, Object> map, String key, String value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.automation.framework.reports;
+
+import com.automation.framework.config.ConfigReader;
+import com.automation.framework.logging.LogShutdown;
+import com.automation.framework.utils.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free reporting event bus
+ * - Hooks, steps and listeners publish events from any thread without locking
+ * - A single dispatcher thread hands events to the sinks, which stream them to disk
+ * - The queue is bounded (report.events.capacity): publishers wait briefly instead of
+ *   letting memory grow when sinks fall behind, so heap use stays flat for any run length
+ *   (during the run; ExtentReportRenderer builds the HTML report in memory afterwards)
+ * - Sinks are flushed whenever the queue drains, so a killed JVM keeps everything
+ *   reported up to the last drain
+ * Sinks are configured with report.sinks (jsonl, junit or a ReportSink class name)
+ */
+public class ReportEventBus {
+
+    private static final Logger log = LogManager.getLogger(ReportEventBus.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static final AtomicLong published = new AtomicLong();
+    private static final AtomicLong backpressureWaits = new AtomicLong();
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+
+    private static final List<ReportSink> sinks = new ArrayList<>();
+    private static volatile Thread dispatcher;
+    private static volatile boolean running;
+    private static volatile boolean idle;
+    private static volatile boolean closed;
+    private static volatile Path eventLog;
+    private static volatile String runId;
+    private static int capacity;
+
+    /**
+     * Publishes an event to every sink
+     * Events published after shutdown are ignored
+     */
+    public static void publish(ReportEvent event) {
+        if (closed) {
+            return;
+        }
+        Thread target = ensureStarted();
+
+        // Backpressure: wait for the dispatcher rather than buffering without limit. The slot is
+        // reserved before the offer (and given back when the queue is full), so concurrent
+        // publishers cannot all pass the check and overshoot the capacity
+        boolean waited = false;
+        while (queued.getAndIncrement() >= capacity && running) {
+            queued.decrementAndGet();
+            if (!waited) {
+                backpressureWaits.incrementAndGet();
+                waited = true;
+            }
+            LockSupport.unpark(target);
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+        }
+
+        queue.offer(event);
+        published.incrementAndGet();
+        if (idle) {
+            LockSupport.unpark(target);
+        }
+    }
+
+    /**
+     * Sets the scenario the current thread is reporting for
+     * Called by ReportEventPlugin when a scenario starts
+     */
+    public static void setCurrentScenario(String scenarioId) {
+        if (scenarioId != null) {
+            currentScenario.set(scenarioId);
+        } else {
+            currentScenario.remove();
+        }
+    }
+
+    /**
+     * Gets the scenario the current thread is reporting for
+     * @return Scenario id, or null outside of a scenario
+     */
+    public static String getCurrentScenario() {
+        return currentScenario.get();
+    }
+
+    /**
+     * Gets the JSON-lines event log of this run
+     * @return Event log path, or null if the bus never started or the jsonl sink is disabled
+     */
+    public static Path getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Gets the id of this run (start timestamp and process id), also used in the event log name
+     * @return Run id, or null if the bus never started
+     */
+    public static String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Drains every pending event, then flushes and closes the sinks
+     */
+    public static void shutdown(long timeoutSeconds) {
+        Thread target;
+        synchronized (ReportEventBus.class) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = false;
+            target = dispatcher;
+        }
+        if (target == null) {
+            return;
+        }
+        LockSupport.unpark(target);
+        try {
+            target.join(TimeUnit.SECONDS.toMillis(timeoutSeconds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (target.isAlive()) {
+            log.warn("Timed out draining report events, {} event(s) not written", queued.get());
+        }
+    }
+
+    /**
+     * Gets a one-line summary of bus statistics
+     */
+    public static String getStats() {
+        return "Report events - published: " + published.get() +
+            ", pending: " + queued.get() +
+            ", backpressure waits: " + backpressureWaits.get() +
+            (eventLog != null ? ", log: " + eventLog : "");
+    }
+
+    /**
+     * Starts the dispatcher and opens the sinks on first use
+     */
+    private static Thread ensureStarted() {
+        Thread current = dispatcher;
+        if (current != null) {
+            return current;
+        }
+        synchronized (ReportEventBus.class) {
+            if (dispatcher == null) {
+                capacity = ConfigReader.getReportEventsCapacity();
+                runId = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) +
+                    "_" + ProcessHandle.current().pid();
+                openSinks();
+                running = true;
+
+                // Lets tools reading the log (merge, render) resolve attachment paths
+                Path reportDir = Paths.get(ConfigReader.getExtentReportPath()).toAbsolutePath().normalize();
+                Path eventsDir = Paths.get(ConfigReader.getReportEventsPath()).toAbsolutePath().normalize();
+                queue.offer(ReportEvent.runStarted(runId, reportDir.toString(),
+                    relativePath(eventsDir, reportDir)));
+                queued.incrementAndGet();
+                published.incrementAndGet();
+
+                // Spends its time blocked on the queue or the log file, so it can be virtual
+                Thread thread = VirtualThreads.newThreadFactory("report-event-dispatcher")
+                    .newThread(ReportEventBus::dispatch);
+                thread.start();
+                LogShutdown.addHook("report-event-shutdown", () -> shutdown(10));
+                dispatcher = thread;
+            }
+            return dispatcher;
+        }
+    }
+
+    /**
+     * Gets a directory relative to another, or null if it has no relative path (e.g. another drive)
+     */
+    private static String relativePath(Path from, Path to) {
+        try {
+            String relative = from.relativize(to).toString().replace('\\', '/');
+            return relative.isEmpty() ? "." : relative;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void openSinks() {
+        Path dir = Paths.get(ConfigReader.getReportEventsPath());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            log.error("Error creating report events directory {}: {}", dir, e.getMessage());
+            return;
+        }
+
+        for (String name : ConfigReader.getReportSinks()) {
+            try {
+                switch (name) {
+                    case "jsonl":
+                        eventLog = dir.resolve("events_" + runId + ".jsonl");
+                        sinks.add(new JsonLinesReportSink(eventLog));
+                        break;
+                    case "junit":
+                        sinks.add(new JUnitXmlReportSink(dir.resolve("junit_" + runId + ".xml")));
+                        break;
+                    default:
+                        sinks.add((ReportSink) Class.forName(name).getDeclaredConstructor().newInstance());
+                }
+            } catch (Exception e) {
+                log.error("Error opening report sink {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Dispatcher loop, the only thread that touches the sinks
+     */
+    private static void dispatch() {
+        while (running || !queue.isEmpty()) {
+            ReportEvent event = queue.poll();
+            if (event == null) {
+                // Queue drained: make everything so far durable, then wait for more
+                forEachSink(ReportSink::flush);
+                idle = true;
+                if (running && queue.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            queued.decrementAndGet();
+            forEachSink(sink -> sink.onEvent(event));
+        }
+        forEachSink(ReportSink::flush);
+        forEachSink(ReportSink::close);
+    }
+
+    /**
+     * Applies an action to every sink, dropping sinks that fail
+     */
+    private static void forEachSink(SinkAction action) {
+        Iterator<ReportSink> iterator = sinks.iterator();
+        while (iterator.hasNext()) {
+            ReportSink sink = iterator.next();
+            try {
+                action.apply(sink);
+            } catch (Exception e) {
+                log.warn("Report sink {} failed and was disabled: {}", sink.getClass().getSimpleName(),
+                    e.getMessage());
+                iterator.remove();
+                try {
+                    sink.close();
+                } catch (Exception ignored) {
+                    // Already failing
+                }
+            }
+        }
+    }
+
+    private interface SinkAction {
+        void apply(ReportSink sink) throws IOException;
+    }
+}
@@ -0,0 +1,101 @@
+package com.automation.framework.reports;
+
+import com.automation.framework.scheduling.ScenarioHistory;
+import com.automation.framework.scheduling.ScenarioRerun;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.WriteEvent;
+
+/**
+ * Cucumber plugin publishing scenario, step and scenario.log() events to the ReportEventBus
+ * Replaces the ExtentCucumberAdapter, which kept its own in-memory copy of the whole run
+ * Register it in @CucumberOptions: plugin = {"com.automation.framework.reports.ReportEventPlugin"}
+ */
+public class ReportEventPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(WriteEvent.class, this::onWrite);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        String scenarioId = testCase.getId().toString();
+        // Concurrent listeners are called on the thread running the scenario
+        ReportEventBus.setCurrentScenario(scenarioId);
+        ReportEventBus.publish(ReportEvent.scenarioStarted(scenarioId, testCase.getName(),
+            featureName(testCase), ScenarioHistory.key(testCase.getUri(), testCase.getName()) + ":" +
+            testCase.getLocation().getLine(), String.join(" ", testCase.getTags())));
+        if (ScenarioRerun.isRerun()) {
+            ReportEventBus.publish(ReportEvent.log(scenarioId, "WARNING",
+                "Rerun attempt " + ScenarioRerun.getAttempt() + ", the scenario failed in the main pass"));
+        }
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        // Hooks are reported through their own log and attachment events
+        if (!(event.getTestStep() instanceof PickleStepTestStep)) {
+            return;
+        }
+        PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+        Result result = event.getResult();
+        ReportEventBus.publish(ReportEvent.stepFinished(event.getTestCase().getId().toString(),
+            step.getStep().getKeyword() + step.getStep().getText(), result.getStatus().name(),
+            errorMessage(result), result.getDuration().toMillis()));
+    }
+
+    private void onWrite(WriteEvent event) {
+        ReportEventBus.publish(ReportEvent.log(event.getTestCase().getId().toString(), "INFO", event.getText()));
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        Result result = event.getResult();
+        ReportEventBus.publish(ReportEvent.scenarioFinished(testCase.getId().toString(), testCase.getName(),
+            featureName(testCase), reportStatus(result.getStatus()), errorMessage(result),
+            result.getDuration().toMillis()));
+        ReportEventBus.setCurrentScenario(null);
+    }
+
+    /**
+     * Gets the reported scenario status
+     * A failure that will be rerun is RETRIED, a rerun that passed is FLAKY (see ScenarioRerun)
+     */
+    private static String reportStatus(Status status) {
+        if ((status == Status.FAILED || status == Status.AMBIGUOUS) && ScenarioRerun.willRetry()) {
+            return ReportEvent.RETRIED;
+        }
+        if (status == Status.PASSED && ScenarioRerun.isRerun()) {
+            return ReportEvent.FLAKY;
+        }
+        return status.name();
+    }
+
+    /**
+     * Feature file name without extension, e.g. GoogleSearch
+     */
+    private static String featureName(TestCase testCase) {
+        String path = testCase.getUri().getSchemeSpecificPart();
+        String file = path.substring(path.lastIndexOf('/') + 1);
+        return file.endsWith(".feature") ? file.substring(0, file.length() - ".feature".length()) : file;
+    }
+
+    private static String errorMessage(Result result) {
+        Throwable error = result.getError();
+        if (error == null) {
+            return null;
+        }
+        return error.getMessage() != null ? error.getClass().getSimpleName() + ": " + error.getMessage()
+            : error.getClass().getName();
+    }
+}
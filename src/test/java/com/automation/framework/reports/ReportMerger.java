@@ -0,0 +1,374 @@
+package com.automation.framework.reports;
+
+import com.automation.framework.metrics.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the event logs of several runs or shards into one Extent report and summary
+ * - Inputs are event logs (events_*.jsonl) or directories searched for them
+ * - A scenario that ran more than once (rerun in the same run, or in a later run) is kept once:
+ *   its last attempt counts, and it is marked flaky if it passed after failing
+ * - Attachment paths are rebased onto the output directory, using the report directory each run recorded
+ *   relative to its event log (so shards downloaded from other agents resolve), or else its absolute path
+ * - Logs are streamed line by line, twice; only one small entry per scenario is kept in memory while
+ *   merging into events.jsonl. Rendering ExtentReport.html from it (ExtentReportRenderer) then holds
+ *   the whole Extent model in memory, like the report of a single run
+ * Writes events.jsonl, ExtentReport.html and summary.txt to the output directory
+ * Run with: mvn -Pmerge-reports verify -Dmerge.inputs=dir1,dir2 (see pom.xml), or
+ * java ... com.automation.framework.reports.ReportMerger <outputDir> <input>...
+ */
+public class ReportMerger {
+
+    private static final Logger log = LogManager.getLogger(ReportMerger.class);
+
+    private static final int SLOWEST_LISTED = 10;
+
+    private final Json json = new Json();
+    private final Path outputDir;
+    private final List<Path> eventLogs;
+
+    private final Map<String, String> identities = new HashMap<>();
+    private final Map<String, Attempt> lastAttempts = new HashMap<>();
+    private final Set<String> failedBefore = new HashSet<>();
+    private final Map<Path, List<Path>> reportDirs = new HashMap<>();
+
+    private int attempts;
+    private int missingAttachments;
+
+    /**
+     * @param outputDir Directory the merged report is written to
+     * @param inputs Event logs, or directories containing event logs
+     */
+    public ReportMerger(Path outputDir, List<Path> inputs) throws IOException {
+        this.outputDir = outputDir.toAbsolutePath().normalize();
+        this.eventLogs = findEventLogs(inputs);
+    }
+
+    /**
+     * Merges the inputs into events.jsonl, ExtentReport.html and summary.txt
+     * @return The summary
+     */
+    public String merge() throws IOException {
+        Files.createDirectories(outputDir);
+        for (Path eventLog : eventLogs) {
+            collectAttempts(eventLog);
+        }
+
+        Set<String> kept = new HashSet<>();
+        for (Attempt attempt : lastAttempts.values()) {
+            kept.add(attempt.scenarioId);
+        }
+
+        Path mergedLog = outputDir.resolve("events.jsonl");
+        Files.deleteIfExists(mergedLog);
+        Summary summary = new Summary();
+        JsonLinesReportSink sink = new JsonLinesReportSink(mergedLog);
+        try {
+            sink.onEvent(ReportEvent.runStarted("merged", outputDir.toString(), "."));
+            for (Path eventLog : eventLogs) {
+                copyKeptEvents(eventLog, kept, sink, summary);
+            }
+        } finally {
+            sink.close();
+        }
+
+        ExtentReportRenderer.Result rendered = ExtentReportRenderer.render(mergedLog,
+            outputDir.resolve("ExtentReport.html"));
+        String text = summary.format(rendered.getScenarios());
+        Files.write(outputDir.resolve("summary.txt"), text.getBytes(StandardCharsets.UTF_8));
+        return text;
+    }
+
+    /**
+     * First pass: finds the last attempt of every scenario and whether an earlier one failed
+     */
+    private void collectAttempts(Path eventLog) throws IOException {
+        forEachEvent(eventLog, (event, map) -> {
+            switch (event.getType()) {
+                case RUN_STARTED:
+                    reportDirs.put(eventLog, reportDirCandidates(eventLog, event));
+                    break;
+                case SCENARIO_STARTED:
+                    String identity = identity(event);
+                    identities.put(event.getScenarioId(), identity);
+                    attempts++;
+                    offer(identity, new Attempt(event.getScenarioId(), event.getTimestamp(), false));
+                    break;
+                case SCENARIO_FINISHED:
+                    String finishedIdentity = identities.remove(event.getScenarioId());
+                    if (finishedIdentity == null) {
+                        break;
+                    }
+                    if (isFailure(event.getStatus())) {
+                        failedBefore.add(finishedIdentity);
+                    }
+                    offer(finishedIdentity, new Attempt(event.getScenarioId(), event.getTimestamp(), true));
+                    break;
+                default:
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Keeps the later attempt; a finished attempt always beats one that never finished
+     */
+    private void offer(String identity, Attempt attempt) {
+        Attempt current = lastAttempts.get(identity);
+        if (current == null || current.scenarioId.equals(attempt.scenarioId)
+                || (attempt.finished && !current.finished)
+                || (attempt.finished == current.finished && attempt.timestamp >= current.timestamp)) {
+            lastAttempts.put(identity, attempt);
+        }
+    }
+
+    /**
+     * Second pass: copies the events of the kept attempts, marking flaky passes and rebasing attachments
+     */
+    private void copyKeptEvents(Path eventLog, Set<String> kept, ReportSink sink, Summary summary)
+            throws IOException {
+        List<Path> reportDir = reportDirs.getOrDefault(eventLog, Collections.emptyList());
+        Map<String, String> identityOf = new HashMap<>();
+        forEachEvent(eventLog, (event, map) -> {
+            if (event.getScenarioId() == null || !kept.contains(event.getScenarioId())) {
+                return;
+            }
+            switch (event.getType()) {
+                case SCENARIO_STARTED:
+                    identityOf.put(event.getScenarioId(), identity(event));
+                    summary.started(event.getTimestamp());
+                    break;
+                case ATTACHMENT:
+                    map.put("message", rebase(reportDir, event.getMessage()));
+                    break;
+                case SCENARIO_FINISHED:
+                    String status = event.getStatus();
+                    if ("PASSED".equals(status) && failedBefore.contains(identityOf.remove(event.getScenarioId()))) {
+                        status = ReportEvent.FLAKY;
+                        map.put("status", status);
+                    }
+                    summary.finished(event, status);
+                    break;
+                default:
+                    break;
+            }
+            sink.onEvent(ReportEvent.fromMap(map));
+        });
+    }
+
+    /**
+     * Gets where a run's report directory may be: relative to where its event log is now,
+     * then the absolute path it had on the machine that ran it
+     */
+    private static List<Path> reportDirCandidates(Path eventLog, ReportEvent runStarted) {
+        List<Path> candidates = new ArrayList<>();
+        if (runStarted.getLocation() != null) {
+            candidates.add(eventLog.toAbsolutePath().getParent().resolve(runStarted.getLocation()).normalize());
+        }
+        if (runStarted.getMessage() != null) {
+            candidates.add(Paths.get(runStarted.getMessage()));
+        }
+        return candidates;
+    }
+
+    /**
+     * Makes an attachment path relative to the output directory
+     * Paths whose file cannot be found in any candidate report directory are kept as they are
+     */
+    private String rebase(List<Path> reportDirs, String path) {
+        if (path == null || reportDirs.isEmpty()) {
+            return path;
+        }
+        for (Path reportDir : reportDirs) {
+            Path file = reportDir.resolve(path).normalize();
+            if (Files.exists(file)) {
+                return outputDir.relativize(file).toString().replace('\\', '/');
+            }
+        }
+        missingAttachments++;
+        return path;
+    }
+
+    private void forEachEvent(Path eventLog, EventAction action) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> map;
+                ReportEvent event;
+                try {
+                    map = json.toType(line, Json.MAP_TYPE);
+                    event = ReportEvent.fromMap(map);
+                } catch (JsonException | IllegalArgumentException | ClassCastException e) {
+                    // Truncated line left by a killed JVM
+                    continue;
+                }
+                action.apply(event, map);
+            }
+        }
+    }
+
+    /**
+     * Identifies a scenario across runs by feature and location (name for logs without locations)
+     */
+    private static String identity(ReportEvent started) {
+        return started.getFeature() + "|" + (started.getLocation() != null ? started.getLocation() : started.getName());
+    }
+
+    private static boolean isFailure(String status) {
+        return "FAILED".equals(status) || "AMBIGUOUS".equals(status) || ReportEvent.RETRIED.equals(status);
+    }
+
+    /**
+     * Expands directories into the event logs they contain, in a stable order
+     */
+    private static List<Path> findEventLogs(List<Path> inputs) throws IOException {
+        Set<Path> logs = new LinkedHashSet<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> files = Files.walk(input)) {
+                    logs.addAll(files
+                        .filter(file -> file.getFileName().toString().matches("events_.*\\.jsonl"))
+                        .map(file -> file.toAbsolutePath().normalize())
+                        .sorted()
+                        .collect(Collectors.toList()));
+                }
+            } else if (Files.exists(input)) {
+                logs.add(input.toAbsolutePath().normalize());
+            } else {
+                log.warn("Report merge input not found: {}", input);
+            }
+        }
+        return new ArrayList<>(logs);
+    }
+
+    /**
+     * Last seen attempt of a scenario
+     */
+    private static class Attempt {
+        private final String scenarioId;
+        private final long timestamp;
+        private final boolean finished;
+
+        private Attempt(String scenarioId, long timestamp, boolean finished) {
+            this.scenarioId = scenarioId;
+            this.timestamp = timestamp;
+            this.finished = finished;
+        }
+    }
+
+    /**
+     * Counts and timings of the kept attempts
+     */
+    private class Summary {
+        private final Map<String, Integer> byStatus = new TreeMap<>();
+        private final LatencyHistogram durations = new LatencyHistogram();
+        private final PriorityQueue<ReportEvent> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(ReportEvent::getDurationMillis));
+        private long firstStart = Long.MAX_VALUE;
+        private long lastFinish = Long.MIN_VALUE;
+
+        private void started(long timestamp) {
+            firstStart = Math.min(firstStart, timestamp);
+        }
+
+        private void finished(ReportEvent event, String status) {
+            byStatus.merge(status, 1, Integer::sum);
+            durations.record(event.getDurationMillis() * 1_000_000L);
+            lastFinish = Math.max(lastFinish, event.getTimestamp());
+            slowest.add(event);
+            if (slowest.size() > SLOWEST_LISTED) {
+                slowest.poll();
+            }
+        }
+
+        private String format(int rendered) {
+            StringBuilder text = new StringBuilder();
+            text.append("Merged report: ").append(outputDir.resolve("ExtentReport.html")).append('\n');
+            text.append("Event logs: ").append(eventLogs.size()).append('\n');
+            text.append("Scenarios: ").append(rendered).append(" (").append(attempts - lastAttempts.size())
+                .append(" earlier attempt(s) of rerun scenarios left out)\n");
+            for (Map.Entry<String, Integer> entry : byStatus.entrySet()) {
+                text.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+            }
+            if (durations.getCount() > 0) {
+                text.append(String.format(Locale.ROOT,
+                    "Scenario duration: p50 %.1fs, p95 %.1fs, p99 %.1fs, max %.1fs, total %.1fs%n",
+                    seconds(durations.getPercentileMicros(0.5)), seconds(durations.getPercentileMicros(0.95)),
+                    seconds(durations.getPercentileMicros(0.99)), seconds(durations.getMaxMicros()),
+                    seconds(durations.getSumMicros())));
+            }
+            if (lastFinish >= firstStart) {
+                text.append(String.format(Locale.ROOT, "Wall clock (first start to last finish): %.1fs%n",
+                    (lastFinish - firstStart) / 1000.0));
+            }
+            if (!slowest.isEmpty()) {
+                text.append("Slowest scenarios:\n");
+                List<ReportEvent> ordered = new ArrayList<>(slowest);
+                ordered.sort(Comparator.comparingLong(ReportEvent::getDurationMillis).reversed());
+                for (ReportEvent event : ordered) {
+                    text.append(String.format(Locale.ROOT, "  %8.1fs  %s - %s%n",
+                        event.getDurationMillis() / 1000.0, event.getFeature(), event.getName()));
+                }
+            }
+            if (missingAttachments > 0) {
+                text.append("Attachments not found (paths kept as recorded): ").append(missingAttachments).append('\n');
+            }
+            return text.toString();
+        }
+
+        private double seconds(long micros) {
+            return micros / 1_000_000.0;
+        }
+    }
+
+    private interface EventAction {
+        void apply(ReportEvent event, Map<String, Object> map) throws IOException;
+    }
+
+    /**
+     * Merges event logs from the command line
+     * @param args Output directory, then event logs or directories (comma-separated lists are accepted)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportMerger <outputDir> <events.jsonl|dir>[,...] ...");
+            System.exit(2);
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            for (String input : args[i].split(",")) {
+                if (!input.trim().isEmpty()) {
+                    inputs.add(Paths.get(input.trim()));
+                }
+            }
+        }
+        System.out.print(new ReportMerger(Paths.get(args[0]), inputs).merge());
+    }
+}
@@ -0,0 +1,27 @@
+package com.automation.framework.reports;
+
+import java.io.IOException;
+
+/**
+ * Destination for reporting events
+ * Sinks are only ever called from the ReportEventBus dispatcher thread,
+ * so implementations do not need to be thread-safe
+ */
+public interface ReportSink {
+
+    /**
+     * Handles one event, ideally by streaming it straight to disk
+     */
+    void onEvent(ReportEvent event) throws IOException;
+
+    /**
+     * Pushes buffered output to disk
+     * Called whenever the dispatcher has drained the queue
+     */
+    void flush() throws IOException;
+
+    /**
+     * Finishes the output and releases its resources
+     */
+    void close() throws IOException;
+}
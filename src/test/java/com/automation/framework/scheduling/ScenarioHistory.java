@@ -0,0 +1,172 @@
+package com.automation.framework.scheduling;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scenario durations from previous runs, kept in scheduling.history.file
+ * - Scenarios are keyed by feature file (relative to the project) and scenario name,
+ *   so the history survives edits that move a scenario within its file
+ * - Stored durations are smoothed (half the last stored value, half the new one),
+ *   so one slow run does not reorder the whole suite
+ * - Only passed scenarios are recorded, a failure can end a scenario early
+ * The file is merged under a file lock, so parallel JVMs sharing it keep each other's updates
+ */
+public class ScenarioHistory {
+
+    private static final Logger log = LogManager.getLogger(ScenarioHistory.class);
+
+    private static final double SMOOTHING = 0.5;
+
+    private static final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private static Map<String, Long> durations;
+    private static long medianMillis;
+
+    /**
+     * Gets the history key of a scenario, e.g. src/test/resources/features/GoogleSearch.feature::Search for Selenium
+     */
+    public static String key(URI featureUri, String scenarioName) {
+        String feature = featureUri.getSchemeSpecificPart();
+        if ("file".equals(featureUri.getScheme())) {
+            try {
+                feature = Paths.get("").toAbsolutePath().relativize(Paths.get(featureUri)).toString()
+                    .replace('\\', '/');
+            } catch (IllegalArgumentException e) {
+                // Feature on another file system root, keep the full path
+            }
+        }
+        return feature + "::" + scenarioName;
+    }
+
+    /**
+     * Checks if a scenario ran in a previous run
+     */
+    public static synchronized boolean isKnown(String key) {
+        return load().containsKey(key);
+    }
+
+    /**
+     * Gets the expected duration of a scenario
+     * Scenarios without history get the median of the known ones, or scheduling.default.estimate.ms
+     */
+    public static synchronized long estimate(String key) {
+        Long duration = load().get(key);
+        if (duration != null) {
+            return duration;
+        }
+        return medianMillis > 0 ? medianMillis : ConfigReader.getSchedulingDefaultEstimateMillis();
+    }
+
+    /**
+     * Records the duration of a passed scenario, kept in memory until save()
+     */
+    public static void record(String key, long millis) {
+        measured.merge(key, millis, ScenarioHistory::smooth);
+    }
+
+    /**
+     * Merges the durations recorded so far into the history file
+     */
+    public static synchronized void save() {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(ConfigReader.getSchedulingHistoryFile()).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel lockChannel = openLockChannel(file)) {
+                // Released when the channel is closed
+                lockChannel.lock();
+                Properties history = read(file);
+                for (String key : measured.keySet()) {
+                    Long millis = measured.remove(key);
+                    String stored = history.getProperty(key);
+                    long merged = stored != null ? smooth(parse(stored), millis) : millis;
+                    history.setProperty(key, Long.toString(merged));
+                }
+
+                Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    history.store(out, "Scenario durations in milliseconds by feature file and scenario name");
+                }
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                index(history);
+            }
+            log.info("Scenario durations saved to {}", file);
+        } catch (IOException e) {
+            log.warn("Could not save scenario durations: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> load() {
+        if (durations == null) {
+            Path file = Paths.get(ConfigReader.getSchedulingHistoryFile());
+            try {
+                index(read(file));
+            } catch (IOException e) {
+                log.warn("Could not read scenario durations: {}", e.getMessage());
+                durations = Collections.emptyMap();
+            }
+        }
+        return durations;
+    }
+
+    private static void index(Properties history) {
+        Map<String, Long> parsed = new HashMap<>();
+        for (String key : history.stringPropertyNames()) {
+            long millis = parse(history.getProperty(key));
+            if (millis > 0) {
+                parsed.put(key, millis);
+            }
+        }
+        long[] sorted = parsed.values().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        medianMillis = sorted.length > 0 ? sorted[sorted.length / 2] : 0;
+        durations = parsed;
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties history = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                history.load(in);
+            }
+        }
+        return history;
+    }
+
+    private static FileChannel openLockChannel(Path file) throws IOException {
+        return FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private static long smooth(long previous, long latest) {
+        return Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING);
+    }
+
+    private static long parse(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.automation.framework.scheduling;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cucumber plugin recording scenario durations for the ScenarioScheduler
+ * - Every passed scenario's duration (hooks included) goes into the ScenarioHistory
+ * - The span from the first scenario start to the last scenario end of the main pass
+ *   (reruns excluded) is the runner's actual makespan
+ * Saves the history when the run finishes
+ * Register it in @CucumberOptions: plugin = {"com.automation.framework.scheduling.ScenarioHistoryPlugin"}
+ */
+public class ScenarioHistoryPlugin implements ConcurrentEventListener {
+
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastFinish = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        if (ScenarioRerun.isRerun()) {
+            return;
+        }
+        firstStart.accumulateAndGet(event.getInstant().toEpochMilli(), Math::min);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        if (!ScenarioRerun.isRerun()) {
+            lastFinish.accumulateAndGet(event.getInstant().toEpochMilli(), Math::max);
+        }
+        if (event.getResult().getStatus() == Status.PASSED) {
+            TestCase testCase = event.getTestCase();
+            ScenarioHistory.record(ScenarioHistory.key(testCase.getUri(), testCase.getName()),
+                event.getResult().getDuration().toMillis());
+        }
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        ScenarioHistory.save();
+        if (lastFinish.get() >= firstStart.get()) {
+            ScenarioScheduler.recordActualMakespan(lastFinish.get() - firstStart.get());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.automation.framework.scheduling;
+
+import com.automation.framework.config.ConfigReader;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reruns failed scenarios inside the same TestNG execution, after the main pass
+ * - A failed scenario is queued and reported to TestNG as skipped ("queued for rerun") in the main pass
+ * - After the main pass it is rerun up to rerun.max.retries times, reusing the JVM, the driver
+ *   binaries, the glue and the reporting already set up (optionally in a fresh browser)
+ * - A scenario that passes on a rerun is a TestNG pass and Flaky in the ExtentReport,
+ *   one that never passes fails the run
+ * Used by BaseCucumberRunner; off by default (rerun.max.retries=0 fails scenarios right away)
+ */
+public class ScenarioRerun {
+
+    private static final Logger log = LogManager.getLogger(ScenarioRerun.class);
+
+    private static final ThreadLocal<Integer> attempt = new ThreadLocal<>();
+    private static final Map<Class<?>, Queue<Object[]>> failed = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static final AtomicInteger flaky = new AtomicInteger();
+    private static final AtomicInteger stillFailing = new AtomicInteger();
+
+    /**
+     * Runs a scenario in the main pass, queueing it for a rerun if it fails
+     * @param runner Runner class the rerun is queued for
+     * @throws SkipException when the failure was queued for a rerun
+     */
+    public static void firstAttempt(Class<?> runner, PickleWrapper pickleWrapper, FeatureWrapper featureWrapper,
+                                    Runnable scenario) {
+        attempt.set(1);
+        try {
+            scenario.run();
+        } catch (SkipException e) {
+            throw e;
+        } catch (RuntimeException | Error e) {
+            if (ConfigReader.getRerunMaxRetries() <= 0) {
+                throw e;
+            }
+            failed.computeIfAbsent(runner, r -> new ConcurrentLinkedQueue<>())
+                .add(new Object[] {pickleWrapper, featureWrapper});
+            queued.incrementAndGet();
+            throw new SkipException("Failed, queued for rerun after the main pass: " + e, e);
+        } finally {
+            attempt.remove();
+        }
+    }
+
+    /**
+     * Takes the scenarios of a runner that failed in the main pass
+     * @return Data provider rows ({PickleWrapper, FeatureWrapper}), empty when nothing failed
+     */
+    public static Object[][] failedScenarios(Class<?> runner) {
+        Queue<Object[]> queue = failed.remove(runner);
+        return queue != null ? queue.toArray(new Object[0][]) : new Object[0][];
+    }
+
+    /**
+     * Reruns a scenario that failed in the main pass, up to rerun.max.retries times
+     * @throws RuntimeException or Error of the last attempt when no rerun passed
+     */
+    public static void rerun(PickleWrapper pickleWrapper, Runnable scenario) {
+        int maxRetries = ConfigReader.getRerunMaxRetries();
+        for (int retry = 1; ; retry++) {
+            attempt.set(retry + 1);
+            log.info("Rerunning scenario (retry {} of {}): {}", retry, maxRetries,
+                pickleWrapper.getPickle().getName());
+            try {
+                scenario.run();
+                flaky.incrementAndGet();
+                return;
+            } catch (SkipException e) {
+                throw e;
+            } catch (RuntimeException | Error e) {
+                if (retry >= maxRetries) {
+                    stillFailing.incrementAndGet();
+                    throw e;
+                }
+            } finally {
+                attempt.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the attempt of the scenario running on the current thread
+     * @return 1 in the main pass, 2 and up for reruns, 0 when not run through ScenarioRerun
+     */
+    public static int getAttempt() {
+        Integer current = attempt.get();
+        return current != null ? current : 0;
+    }
+
+    /**
+     * Checks if the scenario running on the current thread is a rerun
+     */
+    public static boolean isRerun() {
+        return getAttempt() > 1;
+    }
+
+    /**
+     * Checks if a failure of the scenario running on the current thread will be rerun
+     */
+    public static boolean willRetry() {
+        int current = getAttempt();
+        return current > 0 && current <= ConfigReader.getRerunMaxRetries();
+    }
+
+    /**
+     * Gets a one-line summary of the reruns
+     */
+    public static String getSummary() {
+        return "Scenario reruns: " + queued.get() + " failed in the main pass, " + flaky.get() +
+            " passed on rerun (flaky), " + stillFailing.get() + " still failing";
+    }
+}
@@ -0,0 +1,116 @@
+package com.automation.framework.scheduling;
+
+import com.automation.framework.config.ConfigReader;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders the scenarios of a runner longest first (LPT scheduling)
+ * - TestNG hands data provider rows to the worker threads in order, so the longest scenarios
+ *   start first and the short ones fill the gaps at the end, instead of one long scenario
+ *   landing last and stretching the whole run
+ * - Durations come from ScenarioHistory, recorded by ScenarioHistoryPlugin in previous runs
+ * - The makespan predicted for the order is compared with the actual one in the run summary
+ * Used by BaseCucumberRunner for the scenarios() data provider
+ */
+public class ScenarioScheduler {
+
+    private static final Logger log = LogManager.getLogger(ScenarioScheduler.class);
+
+    private static final AtomicLong predictedMakespan = new AtomicLong();
+    private static final AtomicLong actualMakespan = new AtomicLong();
+
+    /**
+     * Reorders data provider rows ({PickleWrapper, FeatureWrapper}) longest first
+     * Scenarios with equal estimates keep their feature file order
+     * @return The same rows in scheduling order (unchanged when scheduling.enabled is false)
+     */
+    public static Object[][] schedule(Object[][] scenarios) {
+        if (!ConfigReader.isSchedulingEnabled() || scenarios.length == 0) {
+            return scenarios;
+        }
+        int workers = ConfigReader.isParallelEnabled() ? ConfigReader.getParallelThreadCount() : 1;
+
+        long[] estimates = new long[scenarios.length];
+        Integer[] order = new Integer[scenarios.length];
+        int unknown = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            String key = key(scenarios[i]);
+            if (!ScenarioHistory.isKnown(key)) {
+                unknown++;
+            }
+            estimates[i] = ScenarioHistory.estimate(key);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> estimates[i]).reversed());
+
+        Object[][] scheduled = new Object[scenarios.length][];
+        long[] sortedEstimates = new long[scenarios.length];
+        for (int i = 0; i < order.length; i++) {
+            scheduled[i] = scenarios[order[i]];
+            sortedEstimates[i] = estimates[order[i]];
+        }
+
+        long predicted = predictMakespan(sortedEstimates, workers);
+        predictedMakespan.addAndGet(predicted);
+        log.info("Scenario scheduling: {} scenario(s) longest first on {} worker(s), {} without history, " +
+            "predicted makespan {}", scenarios.length, workers, unknown, format(predicted));
+        return scheduled;
+    }
+
+    /**
+     * Simulates handing out scenarios in order, each to the worker that frees up first
+     * @param estimates Scenario durations in scheduling order
+     * @return Time until the last worker finishes
+     */
+    static long predictMakespan(long[] estimates, int workers) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (long estimate : estimates) {
+            long finish = loads.poll() + estimate;
+            makespan = Math.max(makespan, finish);
+            loads.add(finish);
+        }
+        return makespan;
+    }
+
+    /**
+     * Adds the time from the first scenario start to the last scenario end of a runner
+     */
+    static void recordActualMakespan(long millis) {
+        actualMakespan.addAndGet(millis);
+    }
+
+    /**
+     * Gets a one-line summary of predicted vs actual makespan over all runners
+     */
+    public static String getSummary() {
+        long predicted = predictedMakespan.get();
+        long actual = actualMakespan.get();
+        if (predicted == 0 || actual == 0) {
+            return "Scenario scheduling: no makespan recorded";
+        }
+        return String.format(Locale.ROOT, "Scenario scheduling: predicted makespan %s, actual %s (%+.0f%%)",
+            format(predicted), format(actual), (actual - predicted) * 100.0 / predicted);
+    }
+
+    private static String key(Object[] scenario) {
+        Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+        return ScenarioHistory.key(pickle.getUri(), pickle.getName());
+    }
+
+    private static String format(long millis) {
+        return String.format(Locale.ROOT, "%.1fs", millis / 1000.0);
+    }
+}
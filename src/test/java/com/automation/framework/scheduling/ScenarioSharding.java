@@ -0,0 +1,128 @@
+package com.automation.framework.scheduling;
+
+import com.automation.framework.config.ConfigReader;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Splits the scenarios of a runner into shard.total stable subsets, one per JVM or CI agent
+ * - hash: each scenario goes to the shard picked by a hash of its feature file and name (plus the row
+ *   number for outline examples); a scenario stays on its shard as others are added, removed or moved
+ * - duration: scenarios are dealt out longest first to the shard with the least work so far,
+ *   using ScenarioHistory; balanced, but every agent must see the same history file
+ * Every shard computes the same split on its own, no coordination needed
+ * Used by BaseCucumberRunner before the scenarios are scheduled
+ */
+public class ScenarioSharding {
+
+    private static final Logger log = LogManager.getLogger(ScenarioSharding.class);
+
+    /**
+     * Keeps the data provider rows ({PickleWrapper, FeatureWrapper}) of this JVM's shard
+     * @return Rows of shard shard.index in their original order (all rows when shard.total is 1)
+     */
+    public static Object[][] select(Object[][] scenarios) {
+        int total = ConfigReader.getShardTotal();
+        if (total <= 1) {
+            return scenarios;
+        }
+        int index = ConfigReader.getShardIndex();
+        String strategy = ConfigReader.getShardStrategy();
+        String[] ids = ids(scenarios);
+        int[] shards = "duration".equals(strategy) ? byDuration(scenarios, ids, total) : byHash(ids, total);
+
+        List<Object[]> selected = new ArrayList<>();
+        for (int i = 0; i < scenarios.length; i++) {
+            if (shards[i] == index) {
+                selected.add(scenarios[i]);
+            }
+        }
+        log.info("Scenario sharding: shard {} of {} ({}) runs {} of {} scenario(s)", index, total, strategy,
+            selected.size(), scenarios.length);
+        return selected.toArray(new Object[0][]);
+    }
+
+    private static int[] byHash(String[] ids, int total) {
+        int[] shards = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            CRC32 crc = new CRC32();
+            crc.update(ids[i].getBytes(StandardCharsets.UTF_8));
+            shards[i] = (int) (crc.getValue() % total);
+        }
+        return shards;
+    }
+
+    private static int[] byDuration(Object[][] scenarios, String[] ids, int total) {
+        long[] estimates = new long[scenarios.length];
+        Integer[] order = new Integer[scenarios.length];
+        for (int i = 0; i < scenarios.length; i++) {
+            Pickle pickle = pickle(scenarios[i]);
+            estimates[i] = ScenarioHistory.estimate(ScenarioHistory.key(pickle.getUri(), pickle.getName()));
+            order[i] = i;
+        }
+        // Ties are broken by id, so every agent deals the scenarios out in exactly the same order
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> estimates[i]).reversed()
+            .thenComparing(i -> ids[i]));
+
+        long[] loads = new long[total];
+        int[] shards = new int[scenarios.length];
+        for (int i : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += estimates[i];
+            shards[i] = lightest;
+        }
+        return shards;
+    }
+
+    /**
+     * Identifies each scenario by feature file and name, so its id does not change when scenarios above
+     * it are added or removed; examples of an outline add their row number within the outline, so they
+     * spread over shards
+     */
+    private static String[] ids(Object[][] scenarios) {
+        // Examples of one outline share its scenario line, their own lines give the row order
+        Map<String, List<Integer>> outlineRows = new HashMap<>();
+        for (Object[] scenario : scenarios) {
+            Pickle pickle = pickle(scenario);
+            if (pickle.getLine() != pickle.getScenarioLine()) {
+                outlineRows.computeIfAbsent(pickle.getUri() + ":" + pickle.getScenarioLine(), k -> new ArrayList<>())
+                    .add(pickle.getLine());
+            }
+        }
+        for (List<Integer> rows : outlineRows.values()) {
+            Collections.sort(rows);
+        }
+
+        String[] ids = new String[scenarios.length];
+        for (int i = 0; i < scenarios.length; i++) {
+            Pickle pickle = pickle(scenarios[i]);
+            ids[i] = ScenarioHistory.key(pickle.getUri(), pickle.getName());
+            List<Integer> rows = outlineRows.get(pickle.getUri() + ":" + pickle.getScenarioLine());
+            if (rows != null) {
+                ids[i] += "#" + (rows.indexOf(pickle.getLine()) + 1);
+            }
+        }
+        return ids;
+    }
+
+    private static Pickle pickle(Object[] scenario) {
+        return ((PickleWrapper) scenario[0]).getPickle();
+    }
+}
@@ -0,0 +1,61 @@
+package com.automation.framework.scheduling;
+
+import com.automation.framework.utils.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs scenarios on virtual threads, one per scenario
+ * - TestNG 7.8 runs a parallel data provider on a fixed pool of platform threads, so with
+ *   threads.virtual BaseCucumberRunner hands its scenarios here instead
+ * - At most concurrency scenarios run at once (one browser session each), started in the given
+ *   order so ScenarioScheduler's longest-first order still applies
+ * Needs Java 21 (VirtualThreads.isEnabled())
+ */
+public class ScenarioThreads {
+
+    private static final Logger log = LogManager.getLogger(ScenarioThreads.class);
+
+    /**
+     * Runs the scenarios on virtual threads and waits for all of them
+     * @param concurrency Maximum number of scenarios running at once
+     * @return Failures of the scenarios, in start order (empty when all passed)
+     */
+    public static List<Throwable> runAll(List<Runnable> scenarios, int concurrency) throws InterruptedException {
+        Semaphore slots = new Semaphore(Math.max(1, concurrency));
+        List<Future<?>> running = new ArrayList<>(scenarios.size());
+        ExecutorService executor = VirtualThreads.newVirtualTaskExecutor("scenario");
+        log.info("Running {} scenario(s) on virtual threads, {} at a time", scenarios.size(), Math.max(1, concurrency));
+        try {
+            for (Runnable scenario : scenarios) {
+                slots.acquire();
+                running.add(executor.submit(() -> {
+                    try {
+                        scenario.run();
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> scenario : running) {
+                try {
+                    scenario.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.automation.framework.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Wait that re-checks its condition when the browser signals a change instead of on a fixed interval
+ * - Between checks, an injected MutationObserver blocks in the browser until the DOM changes
+ *   (or a navigation replaces the document), so a condition is re-evaluated right after it can
+ *   have become true rather than up to one polling interval later
+ * - A maximum slice bounds each browser-side wait, covering changes that do not mutate the DOM
+ *   (CSS transitions, scrolling), so it is never slower than polling at that interval
+ * - An injected fetch/XHR tracker supports waiting for network idle
+ * Same contract as WebDriverWait: returns the first non-null, non-false value of the condition
+ */
+public class EventDrivenWait implements Wait<WebDriver> {
+
+    /**
+     * Minimum gap between two checks, so pages with constant DOM churn do not cause a busy loop
+     */
+    private static final long MIN_RECHECK_MILLIS = 50;
+
+    private static final String WAIT_FOR_MUTATION_SCRIPT =
+        "var done = arguments[arguments.length - 1];" +
+        "var finished = false, timer, observer;" +
+        "function finish(reason) {" +
+        "  if (finished) { return; }" +
+        "  finished = true;" +
+        "  clearTimeout(timer);" +
+        "  if (observer) { observer.disconnect(); }" +
+        "  done(reason);" +
+        "}" +
+        "var earliest = Date.now() + arguments[1];" +
+        "observer = new MutationObserver(function () {" +
+        "  setTimeout(function () { finish('mutation'); }, Math.max(0, earliest - Date.now()));" +
+        "});" +
+        "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+        "window.addEventListener('hashchange', function () { finish('navigation'); });" +
+        "window.addEventListener('popstate', function () { finish('navigation'); });" +
+        "timer = setTimeout(function () { finish('timeout'); }, arguments[0]);";
+
+    private static final String INSTALL_NETWORK_TRACKER_SCRIPT =
+        "if (window.__automationNetwork) { return; }" +
+        "var tracker = window.__automationNetwork = {inflight: 0, lastChange: Date.now()};" +
+        "function start() { tracker.inflight++; tracker.lastChange = Date.now(); }" +
+        "function end() { tracker.inflight = Math.max(0, tracker.inflight - 1); tracker.lastChange = Date.now(); }" +
+        "if (window.fetch) {" +
+        "  var originalFetch = window.fetch;" +
+        "  window.fetch = function () {" +
+        "    start();" +
+        "    return originalFetch.apply(this, arguments).then(" +
+        "      function (r) { end(); return r; }, function (e) { end(); throw e; });" +
+        "  };" +
+        "}" +
+        "var originalSend = XMLHttpRequest.prototype.send;" +
+        "XMLHttpRequest.prototype.send = function () {" +
+        "  start();" +
+        "  this.addEventListener('loadend', end);" +
+        "  return originalSend.apply(this, arguments);" +
+        "};";
+
+    private static final String WAIT_FOR_NETWORK_IDLE_SCRIPT =
+        "var done = arguments[arguments.length - 1];" +
+        "var quiet = arguments[0], deadline = Date.now() + arguments[1];" +
+        "function check() {" +
+        "  var tracker = window.__automationNetwork;" +
+        "  var idle = document.readyState === 'complete' && (!tracker ||" +
+        "    (tracker.inflight === 0 && Date.now() - tracker.lastChange >= quiet));" +
+        "  if (idle) { done(true); } else if (Date.now() >= deadline) { done(false); } else { setTimeout(check, 25); }" +
+        "}" +
+        "check();";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final long maxSliceMillis;
+
+    /**
+     * @param driver WebDriver instance
+     * @param timeout Maximum time to wait for the condition
+     * @param maxSliceMillis Maximum time a single browser-side wait blocks before re-checking
+     */
+    public EventDrivenWait(WebDriver driver, Duration timeout, long maxSliceMillis) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.maxSliceMillis = maxSliceMillis;
+    }
+
+    /**
+     * Waits until the condition returns a non-null, non-false value
+     * NotFoundException and StaleElementReferenceException count as "not yet"
+     */
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        RuntimeException lastException = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && (!(value instanceof Boolean) || Boolean.TRUE.equals(value))) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + condition +
+                    " (tried for " + timeout.getSeconds() + " second(s))", lastException);
+            }
+            awaitDomChange(Math.min(remainingMillis, maxSliceMillis));
+        }
+    }
+
+    /**
+     * Waits until no fetch/XHR request has been in flight for the quiet period
+     * The tracker is injected on first use, so requests started before that are not seen
+     */
+    public void waitForNetworkIdle(Duration quietPeriod) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Network did not become idle within " + timeout.getSeconds() + " second(s)");
+            }
+            try {
+                js.executeScript(INSTALL_NETWORK_TRACKER_SCRIPT);
+                Object idle = js.executeAsyncScript(WAIT_FOR_NETWORK_IDLE_SCRIPT,
+                    quietPeriod.toMillis(), Math.min(remainingMillis, maxSliceMillis));
+                if (Boolean.TRUE.equals(idle)) {
+                    return;
+                }
+            } catch (NoSuchSessionException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Document was replaced by a navigation, check again on the new page
+            }
+        }
+    }
+
+    /**
+     * Blocks in the browser until the DOM changes, a navigation happens or the slice elapses
+     */
+    private void awaitDomChange(long sliceMillis) {
+        try {
+            ((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_MUTATION_SCRIPT, sliceMillis,
+                Math.min(sliceMillis, MIN_RECHECK_MILLIS));
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // The document unloaded while waiting (navigation) - that is a change too
+        }
+    }
+}
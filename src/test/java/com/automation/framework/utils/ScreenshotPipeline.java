@@ -0,0 +1,195 @@
+package com.automation.framework.utils;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background pipeline that encodes and stores screenshots off the test thread
+ * - The test thread only hashes the raw PNG and gets the final file path back immediately
+ * - Identical frames (same hash) are written once and share the same file
+ * - A background thread optionally downscales and re-encodes (JPEG with a quality setting)
+ *   and writes the file to screenshot.path
+ * Call awaitPending() before the run ends so every file is on disk
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger log = LogManager.getLogger(ScreenshotPipeline.class);
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+        ConfigReader.getScreenshotThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer-" + THREAD_SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private static final Map<String, Boolean> written = new ConcurrentHashMap<>();
+    private static final Queue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong rawBytes = new AtomicLong();
+    private static final AtomicLong storedBytes = new AtomicLong();
+    private static final AtomicLong tempFileSequence = new AtomicLong();
+
+    /**
+     * Queues a raw PNG capture for encoding and storage
+     * @param png Raw screenshot bytes as returned by OutputType.BYTES
+     * @return Path the screenshot will be written to
+     */
+    public static Path submit(byte[] png) {
+        String format = ConfigReader.getScreenshotFormat();
+        String extension = format.equals("png") ? "png" : "jpg";
+        Path target = Paths.get(ConfigReader.getScreenshotPath()).resolve(hash(png) + "." + extension);
+
+        if (written.putIfAbsent(target.toString(), Boolean.TRUE) != null) {
+            duplicates.incrementAndGet();
+            return target;
+        }
+
+        pending.add(executor.submit(() -> {
+            try {
+                write(png, target, extension);
+            } catch (IOException e) {
+                written.remove(target.toString());
+                log.error("Error writing screenshot {}: {}", target, e.getMessage());
+            }
+        }));
+        return target;
+    }
+
+    /**
+     * Waits until every queued screenshot has been written
+     */
+    public static void awaitPending(long timeoutSeconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        Future<?> future;
+        while ((future = pending.poll()) != null) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Timed out waiting for screenshots to be written");
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error writing screenshot: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets a one-line summary of pipeline statistics
+     */
+    public static String getStats() {
+        return "Screenshots - written: " + (written.size()) +
+            ", duplicates skipped: " + duplicates.get() +
+            ", raw: " + rawBytes.get() / 1024 + " KB" +
+            ", stored: " + storedBytes.get() / 1024 + " KB";
+    }
+
+    private static void write(byte[] png, Path target, String extension) throws IOException {
+        Files.createDirectories(target.getParent());
+        rawBytes.addAndGet(png.length);
+
+        // Not Files.createTempFile: its owner-only permissions would hide the file from report viewers
+        Path tempFile = target.resolveSibling(target.getFileName() + "." + tempFileSequence.incrementAndGet() + ".tmp");
+        int maxWidth = ConfigReader.getScreenshotMaxWidth();
+        if (extension.equals("png") && maxWidth <= 0) {
+            // Nothing to re-encode, store the capture as is
+            Files.write(tempFile, png);
+        } else {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IOException("Capture is not a readable PNG");
+            }
+            image = downscale(image, maxWidth, extension.equals("jpg"));
+            if (extension.equals("jpg")) {
+                writeJpeg(image, tempFile, ConfigReader.getScreenshotQuality());
+            } else {
+                ImageIO.write(image, "png", tempFile.toFile());
+            }
+        }
+
+        storedBytes.addAndGet(Files.size(tempFile));
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Scales the image down to maxWidth (keeping the aspect ratio)
+     * JPEG has no alpha channel, so the image is always redrawn as RGB for it
+     */
+    private static BufferedImage downscale(BufferedImage image, int maxWidth, boolean rgb) {
+        boolean scale = maxWidth > 0 && image.getWidth() > maxWidth;
+        if (!scale && !rgb) {
+            return image;
+        }
+        int width = scale ? maxWidth : image.getWidth();
+        int height = scale ? (int) Math.round(image.getHeight() * (double) maxWidth / image.getWidth()) : image.getHeight();
+
+        BufferedImage result = new BufferedImage(width, height,
+            rgb ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = result.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return result;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 12; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
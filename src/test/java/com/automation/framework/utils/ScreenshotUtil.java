@@ -1,51 +1,42 @@
 package com.automation.framework.utils;
 
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 
 /**
  * Utility class for screenshot capture
+ * Only the capture happens on the calling thread, encoding and writing
+ * are done by the ScreenshotPipeline
  */
 public class ScreenshotUtil {
     
-    private static final String SCREENSHOT_DIR = "target/screenshots/";
+    private static final Logger log = LogManager.getLogger(ScreenshotUtil.class);
     
     /**
-     * Captures a screenshot and saves it to the screenshots directory
+     * Captures a screenshot and queues it for writing to the configured screenshot.path
+     * Files are named by content hash, so identical frames share one file
      * @param driver WebDriver instance
-     * @param screenshotName Screenshot name
+     * @param screenshotName Screenshot name (used for logging)
      * @return Screenshot file path
      */
     public static String captureScreenshot(WebDriver driver, String screenshotName) {
         try {
-            // Create directory if it doesn't exist
-            Files.createDirectories(Paths.get(SCREENSHOT_DIR));
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            Path filePath = ScreenshotPipeline.submit(png);
             
-            // Generate unique filename with timestamp
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String fileName = screenshotName + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + fileName;
+            log.info("Screenshot captured: {} -> {}", screenshotName, filePath);
+            return filePath.toString();
             
-            // Capture screenshot
-            File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File destFile = new File(filePath);
-            
-            // Copy file
-            Files.copy(srcFile.toPath(), destFile.toPath());
-            
-            System.out.println("Screenshot captured: " + filePath);
-            return filePath;
-            
-        } catch (IOException e) {
-            System.err.println("Error capturing screenshot: " + e.getMessage());
+        } catch (WebDriverException e) {
+            log.error("Error capturing screenshot: {}", e.getMessage());
             return null;
         }
     }
@@ -58,5 +49,23 @@ public class ScreenshotUtil {
     public static String captureScreenshot(WebDriver driver) {
         return captureScreenshot(driver, "screenshot");
     }
+    
+    /**
+     * Gets the path of a screenshot relative to the ExtentReports directory,
+     * so the report can link to it instead of embedding it
+     */
+    public static String toReportPath(Path screenshot) {
+        Path reportDir = Paths.get(ConfigReader.getExtentReportPath()).toAbsolutePath();
+        return reportDir.relativize(screenshot.toAbsolutePath()).toString().replace('\\', '/');
+    }
+    
+    /**
+     * Builds an HTML thumbnail linking to a screenshot, for report logs
+     */
+    public static String toReportHtml(Path screenshot, String title) {
+        String link = toReportPath(screenshot);
+        return "<a href=\"" + link + "\" target=\"_blank\">" +
+            "<img src=\"" + link + "\" alt=\"" + title.replace("\"", "&quot;") + "\" style=\"max-width: 480px;\"/>" +
+            "</a><br/>" + title.replace("<", "&lt;");
+    }
 }
-
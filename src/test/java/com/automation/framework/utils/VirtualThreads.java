@@ -0,0 +1,139 @@
+package com.automation.framework.utils;
+
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the scenarios (ScenarioThreads) and the framework's background work,
+ * on virtual threads when enabled
+ * - threads.virtual=true on Java 21+ (see the java21 Maven profile) gives virtual threads
+ * - Otherwise, or on older JVMs, named daemon platform threads
+ * Virtual threads are looked up reflectively, so the framework still compiles for Java 11
+ */
+public class VirtualThreads {
+
+    private static final Logger log = LogManager.getLogger(VirtualThreads.class);
+
+    private static final MethodHandle OF_VIRTUAL = find("java.lang.Thread", "ofVirtual",
+        "java.lang.Thread$Builder$OfVirtual");
+    private static final MethodHandle NAME = find("java.lang.Thread$Builder", "name",
+        "java.lang.Thread$Builder", String.class, long.class);
+    private static final MethodHandle FACTORY = find("java.lang.Thread$Builder", "factory",
+        ThreadFactory.class.getName());
+    private static final MethodHandle PER_TASK_EXECUTOR = find("java.util.concurrent.Executors",
+        "newThreadPerTaskExecutor", ExecutorService.class.getName(), ThreadFactory.class);
+    private static final AtomicBoolean warned = new AtomicBoolean();
+
+    /**
+     * Checks if the running JVM has virtual threads (Java 21+)
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Checks if threads.virtual is set and the JVM supports it
+     */
+    public static boolean isEnabled() {
+        if (!ConfigReader.isVirtualThreadsEnabled()) {
+            return false;
+        }
+        if (!isSupported()) {
+            if (warned.compareAndSet(false, true)) {
+                log.warn("threads.virtual needs Java 21 or later (running {}), using platform threads",
+                    System.getProperty("java.version"));
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates a factory for threads named prefix-1, prefix-2, ...
+     * Virtual when enabled, daemon platform threads otherwise
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        return isEnabled() ? virtualFactory(prefix) : platformFactory(prefix);
+    }
+
+    /**
+     * Creates a factory for virtual threads regardless of threads.virtual (e.g. for benchmarks)
+     * @throws IllegalStateException if the JVM has no virtual threads
+     */
+    public static ThreadFactory virtualFactory(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later, running " +
+                System.getProperty("java.version"));
+        }
+        try {
+            // Thread.ofVirtual().name(prefix + "-", 1).factory()
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(), prefix + "-", 1L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create a virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Creates a factory for named daemon platform threads
+     */
+    public static ThreadFactory platformFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates an executor for blocking tasks: one virtual thread per task when enabled,
+     * otherwise a fixed pool of platform threads
+     * @param platformThreads Pool size when virtual threads are not used
+     */
+    public static ExecutorService newTaskExecutor(String prefix, int platformThreads) {
+        if (isEnabled()) {
+            return newVirtualTaskExecutor(prefix);
+        }
+        return Executors.newFixedThreadPool(platformThreads, platformFactory(prefix));
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task, regardless of threads.virtual
+     * @throws IllegalStateException if the JVM has no virtual threads
+     */
+    public static ExecutorService newVirtualTaskExecutor(String prefix) {
+        ThreadFactory factory = virtualFactory(prefix);
+        try {
+            return (ExecutorService) PER_TASK_EXECUTOR.invoke(factory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Looks up a public method that only exists on newer JVMs
+     * @return Handle (receiver first for instance methods), or null if the JVM does not have it
+     */
+    private static MethodHandle find(String owner, String name, String returnType, Class<?>... parameters) {
+        try {
+            Class<?> ownerClass = Class.forName(owner);
+            MethodType type = MethodType.methodType(Class.forName(returnType), parameters);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            return ownerClass.isInterface() ? lookup.findVirtual(ownerClass, name, type)
+                : lookup.findStatic(ownerClass, name, type);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
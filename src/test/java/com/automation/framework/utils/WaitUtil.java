@@ -1,23 +1,66 @@
 package com.automation.framework.utils;
 
+import com.automation.framework.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Wait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.function.Function;
 
 /**
  * Utility class for custom waits
  */
 public class WaitUtil {
     
+    private static final Logger log = LogManager.getLogger(WaitUtil.class);
+    
+    // Nesting depth of waits created by newWait on this thread
+    private static final ThreadLocal<int[]> waitDepth = ThreadLocal.withInitial(() -> new int[1]);
+    
+    /**
+     * Creates a wait using the configured strategy
+     * - event: re-checks when the browser signals a DOM change (EventDrivenWait)
+     * - polling: re-checks at a fixed interval (WebDriverWait)
+     * While it runs, isWaiting() is true on the calling thread and the implicit wait is suspended,
+     * so a failed lookup inside the condition returns at once instead of after implicit.wait
+     */
+    public static Wait<WebDriver> newWait(WebDriver driver, int timeoutInSeconds) {
+        Duration implicitWait = Duration.ofSeconds(ConfigReader.getImplicitWait());
+        if (ConfigReader.isEventDrivenWait()) {
+            return new TrackedWait(driver, implicitWait, new EventDrivenWait(driver,
+                Duration.ofSeconds(timeoutInSeconds), ConfigReader.getWaitMaxSliceMillis()));
+        }
+        return new TrackedWait(driver, implicitWait, new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds)));
+    }
+    
+    /**
+     * Checks if the current thread is inside a wait created by newWait
+     * Lookups made meanwhile are polls of the wait's condition (used by RoundTripBudget)
+     */
+    public static boolean isWaiting() {
+        return waitDepth.get()[0] > 0;
+    }
+    
+    /**
+     * Waits until no fetch/XHR request has been in flight for the quiet period
+     */
+    public static void waitForNetworkIdle(WebDriver driver, int quietPeriodMillis, int timeoutInSeconds) {
+        new EventDrivenWait(driver, Duration.ofSeconds(timeoutInSeconds), ConfigReader.getWaitMaxSliceMillis())
+            .waitForNetworkIdle(Duration.ofMillis(quietPeriodMillis));
+    }
+    
     /**
      * Waits for an element to be present in the DOM
      */
     public static WebElement waitForElementPresence(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        Wait<WebDriver> wait = newWait(driver, timeoutInSeconds);
         return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
     }
     
@@ -25,7 +68,7 @@ public class WaitUtil {
      * Waits for an element to be visible
      */
     public static WebElement waitForElementVisibility(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        Wait<WebDriver> wait = newWait(driver, timeoutInSeconds);
         return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
@@ -33,7 +76,7 @@ public class WaitUtil {
      * Waits for an element to be clickable
      */
     public static WebElement waitForElementClickable(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        Wait<WebDriver> wait = newWait(driver, timeoutInSeconds);
         return wait.until(ExpectedConditions.elementToBeClickable(locator));
     }
     
@@ -41,7 +84,7 @@ public class WaitUtil {
      * Waits for the page title to contain specific text
      */
     public static boolean waitForTitleContains(WebDriver driver, String title, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        Wait<WebDriver> wait = newWait(driver, timeoutInSeconds);
         return wait.until(ExpectedConditions.titleContains(title));
     }
     
@@ -49,7 +92,7 @@ public class WaitUtil {
      * Waits for the URL to contain specific text
      */
     public static boolean waitForUrlContains(WebDriver driver, String url, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        Wait<WebDriver> wait = newWait(driver, timeoutInSeconds);
         return wait.until(ExpectedConditions.urlContains(url));
     }
     
@@ -61,7 +104,50 @@ public class WaitUtil {
             Thread.sleep(seconds * 1000L);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            System.err.println("Wait interrupted: " + e.getMessage());
+            log.warn("Wait interrupted: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Marks the thread as waiting for the duration of until()
+     * The outermost wait on the thread sets the implicit wait to zero and restores it afterwards;
+     * nested waits leave it alone, as does a configured implicit wait of zero (no round trips)
+     */
+    private static final class TrackedWait implements Wait<WebDriver> {
+        
+        private final WebDriver driver;
+        private final Duration implicitWait;
+        private final Wait<WebDriver> delegate;
+        
+        /**
+         * @param implicitWait The driver's implicit wait, suspended during until() and restored afterwards
+         */
+        private TrackedWait(WebDriver driver, Duration implicitWait, Wait<WebDriver> delegate) {
+            this.driver = driver;
+            this.implicitWait = implicitWait;
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public <T> T until(Function<? super WebDriver, T> condition) {
+            int[] depth = waitDepth.get();
+            boolean suspend = depth[0] == 0 && !implicitWait.isZero();
+            if (suspend) {
+                driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            }
+            depth[0]++;
+            try {
+                return delegate.until(condition);
+            } finally {
+                depth[0]--;
+                if (suspend) {
+                    try {
+                        driver.manage().timeouts().implicitlyWait(implicitWait);
+                    } catch (WebDriverException ignored) {
+                        // Session is gone, the wait's own outcome is what matters
+                    }
+                }
+            }
         }
     }
 }
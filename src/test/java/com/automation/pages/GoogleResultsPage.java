@@ -1,10 +1,16 @@
 package com.automation.pages;
 
 import com.automation.framework.base.BasePage;
+import com.automation.framework.base.BulkElementReader;
+import com.automation.framework.base.ElementData;
+import com.automation.framework.base.PageSnapshot;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -12,11 +18,21 @@ import java.util.List;
  */
 public class GoogleResultsPage extends BasePage {
     
+    private static final String RESULT_TITLES_XPATH = "//div[@id='search']//h3";
+    
+    /** Snapshot names: the search box (visibility, value) and the number of result titles */
+    public static final String SEARCH_BOX = "searchBox";
+    public static final String RESULTS = "results";
+    
+    private static final PageSnapshot.Spec SNAPSHOT = new PageSnapshot.Spec()
+        .element(SEARCH_BOX, By.name("q"), EnumSet.of(BulkElementReader.Field.VISIBILITY), "value")
+        .count(RESULTS, By.xpath(RESULT_TITLES_XPATH));
+    
     // Page elements using PageFactory
     @FindBy(id = "search")
     private WebElement searchResultsContainer;
     
-    @FindBy(xpath = "//div[@id='search']//h3")
+    @FindBy(xpath = RESULT_TITLES_XPATH)
     private List<WebElement> searchResultTitles;
     
     @FindBy(name = "q")
@@ -60,14 +76,26 @@ public class GoogleResultsPage extends BasePage {
     }
     
     /**
-     * Gets the text of the first search result
+     * Gets the text of the first visible search result
      */
     public String getFirstResultText() {
-        if (searchResultTitles.size() > 0) {
-            waitForElementToBeVisible(searchResultTitles.get(0));
-            return searchResultTitles.get(0).getText();
+        List<String> titles = getResultTitles();
+        return titles.isEmpty() ? "" : titles.get(0);
+    }
+    
+    /**
+     * Gets the titles of all visible search results in a single browser round-trip
+     */
+    public List<String> getResultTitles() {
+        waitForElementToBeVisible(searchResultsContainer);
+        List<String> titles = new ArrayList<>();
+        for (ElementData result : extractElements(By.xpath(RESULT_TITLES_XPATH),
+                EnumSet.of(BulkElementReader.Field.TEXT, BulkElementReader.Field.VISIBILITY))) {
+            if (Boolean.TRUE.equals(result.isVisible())) {
+                titles.add(result.getText());
+            }
         }
-        return "";
+        return titles;
     }
     
     /**
@@ -84,5 +112,13 @@ public class GoogleResultsPage extends BasePage {
     public String getSearchPageTitle() {
         return getPageTitle();
     }
+    
+    /**
+     * Waits for the results, then reads title, URL, search box and result count in one round-trip
+     */
+    public PageSnapshot snapshot() {
+        waitForElementToBeVisible(searchResultsContainer);
+        return takeSnapshot(SNAPSHOT);
+    }
 }
 
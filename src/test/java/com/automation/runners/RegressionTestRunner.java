@@ -1,8 +1,7 @@
 package com.automation.runners;
 
-import io.cucumber.testng.AbstractTestNGCucumberTests;
+import com.automation.framework.base.BaseCucumberRunner;
 import io.cucumber.testng.CucumberOptions;
-import org.testng.annotations.DataProvider;
 
 /**
  * Runner to execute tests with @Regression tag only
@@ -11,18 +10,13 @@ import org.testng.annotations.DataProvider;
     features = "src/test/resources/features",
     glue = {"com.automation.stepdefinitions"},
     plugin = {
-        "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+        "com.automation.framework.reports.ReportEventPlugin",
+        "com.automation.framework.metrics.StepTimingPlugin",
+        "com.automation.framework.scheduling.ScenarioHistoryPlugin"
     },
     monochrome = true,
     dryRun = false,
     tags = "@Regression"
 )
-public class RegressionTestRunner extends AbstractTestNGCucumberTests {
-    
-    @Override
-    @DataProvider(parallel = false)
-    public Object[][] scenarios() {
-        return super.scenarios();
-    }
+public class RegressionTestRunner extends BaseCucumberRunner {
 }
-
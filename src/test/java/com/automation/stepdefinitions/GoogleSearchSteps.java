@@ -1,5 +1,8 @@
 package com.automation.stepdefinitions;
 
+import com.automation.framework.base.ElementData;
+import com.automation.framework.base.PageRegistry;
+import com.automation.framework.base.PageSnapshot;
 import com.automation.pages.GoogleHomePage;
 import com.automation.pages.GoogleResultsPage;
 import io.cucumber.java.en.*;
@@ -23,7 +26,7 @@ public class GoogleSearchSteps {
     
     @Given("the user is on the Google home page")
     public void theUserIsOnTheGoogleHomePage() {
-        googleHomePage = new GoogleHomePage(testContext.getDriver());
+        googleHomePage = PageRegistry.getPage(testContext.getDriver(), GoogleHomePage.class);
         googleHomePage.navigateToGoogle();
         Assert.assertTrue(googleHomePage.isPageLoaded(), 
             "Google page did not load correctly");
@@ -37,28 +40,48 @@ public class GoogleSearchSteps {
     
     @Then("search results are displayed")
     public void searchResultsAreDisplayed() {
-        googleResultsPage = new GoogleResultsPage(testContext.getDriver());
+        googleResultsPage = PageRegistry.getPage(testContext.getDriver(), GoogleResultsPage.class);
         Assert.assertTrue(googleResultsPage.isPageLoaded(), 
             "Results page did not load correctly");
-        Assert.assertTrue(googleResultsPage.hasResults(), 
-            "No search results were found");
+        
+        // Fresh snapshot, shared by the assertion steps that follow
+        PageSnapshot snapshot = googleResultsPage.snapshot();
+        testContext.setPageSnapshot(snapshot);
+        Assert.assertTrue(snapshot.getCount(GoogleResultsPage.RESULTS) > 0, 
+            "No search results were found in " + snapshot);
     }
     
     @And("the page title contains the search term")
     public void thePageTitleContainsTheSearchTerm() {
-        googleResultsPage = new GoogleResultsPage(testContext.getDriver());
-        String pageTitle = googleResultsPage.getSearchPageTitle();
+        PageSnapshot snapshot = resultsSnapshot();
+        String pageTitle = snapshot.getTitle();
         String searchTerm = testContext.getSearchTerm();
         Assert.assertTrue(pageTitle.contains(searchTerm), 
             "Page title does not contain the search term. " +
-            "Expected: contains '" + searchTerm + "', Actual: '" + pageTitle + "'");
+            "Expected: contains '" + searchTerm + "', Actual: '" + pageTitle + "' in " + snapshot);
     }
     
     @And("the search term {string} appears in the search box")
     public void theSearchTermAppearsInTheSearchBox(String searchTerm) {
-        googleResultsPage = new GoogleResultsPage(testContext.getDriver());
-        Assert.assertTrue(googleResultsPage.isSearchTermDisplayed(searchTerm), 
-            "Search term does not appear in the search box");
+        PageSnapshot snapshot = resultsSnapshot();
+        ElementData searchBox = snapshot.getElement(GoogleResultsPage.SEARCH_BOX);
+        String value = searchBox != null ? searchBox.getAttribute("value") : null;
+        Assert.assertTrue(value != null && value.contains(searchTerm), 
+            "Search term does not appear in the search box. Actual: '" + value + "' in " + snapshot);
+    }
+    
+    /**
+     * Reuses the results page snapshot of an earlier step while nothing has changed the page since,
+     * otherwise takes a new one
+     */
+    private PageSnapshot resultsSnapshot() {
+        PageSnapshot snapshot = testContext.getPageSnapshot();
+        if (snapshot == null || snapshot.isStale()) {
+            googleResultsPage = PageRegistry.getPage(testContext.getDriver(), GoogleResultsPage.class);
+            snapshot = googleResultsPage.snapshot();
+            testContext.setPageSnapshot(snapshot);
+        }
+        return snapshot;
     }
 }
 
@@ -1,19 +1,44 @@
 package com.automation.stepdefinitions;
 
+import com.automation.framework.base.BrowserContext;
 import com.automation.framework.base.DriverManager;
+import com.automation.framework.base.NetworkRecorder;
+import com.automation.framework.base.ResourceBlocker;
 import com.automation.framework.config.ConfigReader;
+import com.automation.framework.logging.ScenarioLog;
+import com.automation.framework.metrics.RoundTripBudget;
+import com.automation.framework.reports.ExtentReportManager;
+import com.automation.framework.reports.ReportEvent;
+import com.automation.framework.reports.ReportEventBus;
+import com.automation.framework.scheduling.ScenarioRerun;
+import com.automation.framework.utils.ScreenshotPipeline;
+import com.automation.framework.utils.ScreenshotUtil;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Hooks class to execute actions before and after each scenario
  */
 public class Hooks {
     
+    private static final Logger log = LogManager.getLogger(Hooks.class);
+    
     private final TestContext testContext;
+    private BrowserContext browserContext;
+    private ResourceBlocker resourceBlocker;
+    private NetworkRecorder networkRecorder;
     
     /**
      * Constructor with dependency injection
@@ -27,16 +52,56 @@ public class Hooks {
      */
     @Before
     public void setUp(Scenario scenario) {
-        System.out.println("========================================");
-        System.out.println("Starting scenario: " + scenario.getName());
-        System.out.println("Tags: " + scenario.getSourceTagNames());
-        System.out.println("========================================");
+        // Every line logged on this thread until tearDown goes to the scenario's own log as well
+        ScenarioLog.start(scenario.getName());
+        log.info("Starting scenario: {} {}", scenario.getName(), scenario.getSourceTagNames());
         
         String browser = ConfigReader.getBrowser();
-        DriverManager.initializeDriver(browser);
+        boolean contexts = ConfigReader.isBrowserContextsEnabled();
+        boolean pooled = (ConfigReader.isDriverPoolEnabled() || contexts)
+            && !scenario.getSourceTagNames().contains(ConfigReader.getDriverPoolFreshTag())
+            && !(ScenarioRerun.isRerun() && ConfigReader.isRerunFreshBrowser());
+        DriverManager.initializeDriver(browser, pooled);
         testContext.setDriver(DriverManager.getDriver());
         
-        System.out.println("Browser initialized: " + browser);
+        log.info("Browser initialized: {}{}", browser, pooled ? " (pooled)" : "");
+        
+        // Isolate the scenario in its own browser context, before anything attaches to the current tab
+        if (contexts) {
+            browserContext = BrowserContext.open(testContext.getDriver());
+            if (browserContext == null) {
+                log.info("Browser contexts need Chrome or Edge, using the pooled session as is");
+            }
+        }
+        
+        // Block heavy resources if lean mode is enabled globally or by tag
+        if (ConfigReader.isLeanModeEnabled()
+                || scenario.getSourceTagNames().contains(ConfigReader.getLeanModeTag())) {
+            resourceBlocker = ResourceBlocker.forDriver(testContext.getDriver());
+            if (resourceBlocker != null) {
+                resourceBlocker.enable();
+            }
+        }
+        
+        // Record the scenario's network traffic, or replay it from the archive
+        String networkMode = ConfigReader.getNetworkMode();
+        if (!"live".equals(networkMode)) {
+            networkRecorder = NetworkRecorder.forDriver(testContext.getDriver());
+            if (networkRecorder != null) {
+                networkRecorder.start(networkMode, NetworkRecorder.archiveFor(scenario.getUri(), scenario.getName()));
+            } else {
+                log.info("Network {} needs Chrome or Edge, using the live network", networkMode);
+            }
+        }
+    }
+    
+    /**
+     * Executes after each step
+     * Fails the step if it broke the WebDriver round-trip budget (roundtrip.budget.mode=fail)
+     */
+    @AfterStep
+    public void checkRoundTripBudget() {
+        RoundTripBudget.enforce();
     }
     
     /**
@@ -59,32 +124,89 @@ public class Hooks {
                 byte[] screenshot = ((TakesScreenshot) testContext.getDriver())
                     .getScreenshotAs(OutputType.BYTES);
                 
-                // Attach to Cucumber report (ExtentReports will automatically pick this up)
+                // Encoding and writing happen in the background, the report links to the file
                 String screenshotName = scenario.isFailed() ? 
                     "Failed - " + scenario.getName() : 
                     "Passed - " + scenario.getName();
-                scenario.attach(screenshot, "image/png", screenshotName);
+                Path screenshotFile = ScreenshotPipeline.submit(screenshot);
+                ReportEventBus.publish(ReportEvent.attachment(scenario.getId(), screenshotName,
+                    ScreenshotUtil.toReportPath(screenshotFile)));
                 
-                System.out.println("Screenshot captured for " + 
-                    (scenario.isFailed() ? "failed" : "passed") + 
-                    " scenario: " + scenario.getName());
+                log.info("Screenshot captured for {} scenario: {}",
+                    scenario.isFailed() ? "failed" : "passed", scenario.getName());
             } catch (Exception e) {
-                System.out.println("Error capturing screenshot: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error capturing screenshot: {}", e.getMessage(), e);
             }
         } else {
-            System.out.println("Screenshot skipped (as per configuration) for " + 
-                (scenario.isFailed() ? "failed" : "passed") + 
-                " scenario: " + scenario.getName());
+            log.info("Screenshot skipped (as per configuration) for {} scenario: {}",
+                scenario.isFailed() ? "failed" : "passed", scenario.getName());
+        }
+        
+        // Report what lean mode blocked
+        if (resourceBlocker != null) {
+            try {
+                String summary = resourceBlocker.disable();
+                scenario.log(summary);
+                log.info(summary);
+            } catch (Exception e) {
+                log.error("Error collecting lean mode stats: {}", e.getMessage());
+            }
         }
         
-        System.out.println("========================================");
-        System.out.println("Finishing scenario: " + scenario.getName());
-        System.out.println("Status: " + scenario.getStatus());
-        System.out.println("========================================");
+        // Save the recording, or report what replay served
+        List<String> unmatchedRequests = Collections.emptyList();
+        if (networkRecorder != null) {
+            try {
+                String summary = networkRecorder.stop();
+                scenario.log(summary);
+                log.info(summary);
+                unmatchedRequests = networkRecorder.getUnmatched();
+            } catch (Exception e) {
+                log.error("Error stopping network {}: {}", ConfigReader.getNetworkMode(), e.getMessage());
+            }
+        }
+        
+        // Drop the scenario's cookies, storage and windows with its context
+        if (browserContext != null) {
+            try {
+                String summary = browserContext.close();
+                scenario.log(summary);
+                log.info(summary);
+            } catch (Exception e) {
+                log.error("Error disposing browser context: {}", e.getMessage());
+            }
+        }
+        
+        log.info("Finishing scenario: {} - {}", scenario.getName(), scenario.getStatus());
         
-        // Close browser
-        DriverManager.quitDriver();
+        // Close browser (or return it to the pool), and drop per-thread state so it does not
+        // carry over to the next scenario on this thread
+        try {
+            DriverManager.quitDriver();
+        } finally {
+            ExtentReportManager.removeTest();
+            attachScenarioLog(scenario, ScenarioLog.finish(scenario.isFailed()));
+        }
+        
+        if (!unmatchedRequests.isEmpty() && "fail".equals(ConfigReader.getNetworkReplayUnmatched())) {
+            throw new AssertionError(unmatchedRequests.size() + " request(s) missing from the network archive, " +
+                "record the scenario again (network.mode=record): " + unmatchedRequests);
+        }
+    }
+    
+    /**
+     * Links a failed scenario's log file from the report and attaches it to the Cucumber results
+     */
+    private void attachScenarioLog(Scenario scenario, Path logFile) {
+        if (logFile == null) {
+            return;
+        }
+        ReportEventBus.publish(ReportEvent.log(scenario.getId(), "INFO",
+            "<a href=\"" + ScreenshotUtil.toReportPath(logFile) + "\" target=\"_blank\">Scenario log</a>"));
+        try {
+            scenario.attach(Files.readAllBytes(logFile), "text/plain", "scenario.log");
+        } catch (IOException e) {
+            log.error("Error attaching scenario log {}: {}", logFile, e.getMessage());
+        }
     }
 }
-
@@ -1,5 +1,6 @@
 package com.automation.stepdefinitions;
 
+import com.automation.framework.base.PageSnapshot;
 import org.openqa.selenium.WebDriver;
 
 /**
@@ -10,6 +11,7 @@ public class TestContext {
     
     private WebDriver driver;
     private String searchTerm;
+    private PageSnapshot pageSnapshot;
     
     /**
      * Gets the WebDriver instance
@@ -38,5 +40,19 @@ public class TestContext {
     public void setSearchTerm(String searchTerm) {
         this.searchTerm = searchTerm;
     }
+    
+    /**
+     * Gets the last page snapshot taken by a step, which may be stale
+     */
+    public PageSnapshot getPageSnapshot() {
+        return pageSnapshot;
+    }
+    
+    /**
+     * Sets the page snapshot shared by the assertion steps that follow
+     */
+    public void setPageSnapshot(PageSnapshot pageSnapshot) {
+        this.pageSnapshot = pageSnapshot;
+    }
 }
 